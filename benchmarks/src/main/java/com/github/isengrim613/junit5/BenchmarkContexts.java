@@ -0,0 +1,107 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Minimal {@link ExtensionContext}s for driving {@link DbSetupExtension} outside of the JUnit engine.
+ *
+ * <p>These are dynamic proxies rather than implementations so that they keep compiling when JUnit adds methods to
+ * {@link ExtensionContext}. Only the methods used by the extension are supported.
+ */
+final class BenchmarkContexts {
+    private BenchmarkContexts() {
+        // singleton
+    }
+
+    /**
+     * Creates a context for a test of the given instance. The context is its own root and keeps its stores for as long
+     * as it lives, the same way a class context does.
+     *
+     * @param testInstance The test instance
+     * @param testMethod The test method, looked up on every call so that a context can be reused across tests
+     * @param configuration Configuration parameters
+     * @return The context
+     */
+    static ExtensionContext create(Object testInstance, Supplier<Method> testMethod, Map<String, String> configuration) {
+        Map<ExtensionContext.Namespace, ExtensionContext.Store> stores = new HashMap<>();
+        ExtensionContext[] self = new ExtensionContext[1];
+
+        self[0] = (ExtensionContext) Proxy.newProxyInstance(BenchmarkContexts.class.getClassLoader(),
+                new Class<?>[] { ExtensionContext.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getRoot":
+                            return self[0];
+                        case "getParent":
+                        case "getExecutionException":
+                            return Optional.empty();
+                        case "getTestClass":
+                            return Optional.of(testInstance.getClass());
+                        case "getRequiredTestClass":
+                            return testInstance.getClass();
+                        case "getTestInstance":
+                            return Optional.of(testInstance);
+                        case "getRequiredTestInstance":
+                            return testInstance;
+                        case "getTestMethod":
+                            return Optional.of(testMethod.get());
+                        case "getRequiredTestMethod":
+                            return testMethod.get();
+                        case "getUniqueId":
+                        case "getDisplayName":
+                            return testInstance.getClass().getName();
+                        case "getConfigurationParameter":
+                            return Optional.ofNullable(configuration.get((String) args[0]));
+                        case "publishReportEntry":
+                            return null;
+                        case "getStore":
+                            return stores.computeIfAbsent((ExtensionContext.Namespace) args[0], namespace -> createStore());
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "BenchmarkContext[" + testInstance.getClass().getName() + "]";
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+
+        return self[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ExtensionContext.Store createStore() {
+        Map<Object, Object> values = new HashMap<>();
+
+        return (ExtensionContext.Store) Proxy.newProxyInstance(BenchmarkContexts.class.getClassLoader(),
+                new Class<?>[] { ExtensionContext.Store.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            return values.get(args[0]);
+                        case "put":
+                            values.put(args[0], args[1]);
+                            return null;
+                        case "remove":
+                            return values.remove(args[0]);
+                        case "getOrDefault":
+                            return values.getOrDefault(args[0], args[2]);
+                        case "getOrComputeIfAbsent":
+                            if (args.length == 1) {
+                                return values.computeIfAbsent(args[0], key -> ReflectionUtils.newInstance((Class<?>) key));
+                            }
+                            return values.computeIfAbsent(args[0], (Function<Object, Object>) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+    }
+}
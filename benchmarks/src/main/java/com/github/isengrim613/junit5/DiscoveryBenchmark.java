@@ -0,0 +1,69 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per test instance cost of discovering the annotated fields of a test class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscoveryBenchmark {
+    @Param({ "1", "10", "100" })
+    int fields;
+
+    @Param({ "0", "1", "2", "3" })
+    int depth;
+
+    private DbSetupExtension extension;
+    private Object testInstance;
+    private ExtensionContext context;
+    private List<Field> operationFields;
+
+    @Setup
+    public void setup() throws Exception {
+        extension = new DbSetupExtension();
+        testInstance = OperationFixtures.newInstance(fields, depth);
+        Method testMethod = Object.class.getMethod("toString");
+        context = BenchmarkContexts.create(testInstance, () -> testMethod, Collections.emptyMap());
+        operationFields = DbSetupExtension.findAnnotatedFieldsInHierarchy(testInstance.getClass(), DbSetupOperation.class);
+    }
+
+    @Benchmark
+    public void postProcessTestInstance() throws Exception {
+        extension.postProcessTestInstance(testInstance, context);
+    }
+
+    @Benchmark
+    public List<Field> findAnnotatedFieldsInHierarchy() {
+        return DbSetupExtension.findAnnotatedFieldsInHierarchy(testInstance.getClass(), DbSetupOperation.class);
+    }
+
+    @Benchmark
+    public void getOperationOrder(Blackhole blackhole) {
+        for (Field field : operationFields) {
+            blackhole.consume(DbSetupExtension.getOperationOrder(field));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.operation.Insert;
+import com.ninja_squad.dbsetup.operation.Operation;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+
+/**
+ * <p>Measures whole tests, a reset of the fixture followed by a trivial test body, against in-memory H2 databases.
+ *
+ * <p>Every table has {@code rows / tables} rows. The first {@code foreignKeyDepth} tables after the first one reference
+ * the table before them, the rest have no foreign key. Each of the {@code sources} is a separate database with the same
+ * schema and fixture. A {@code skipRatio} of the tests are read-only, the others update a row.
+ *
+ * <p>The reset strategies are:
+ * <ul>
+ *     <li>{@code RELAUNCH}: a launch through {@link DbSetupExtension} with DbSetup's {@link Insert}, skipped after a
+ *     read-only test with {@link DbSetupSkipNext}</li>
+ *     <li>{@code BATCH}: the same, with an operation inserting the rows in JDBC batches</li>
+ *     <li>{@code ROLLBACK}: the fixture is launched once and every test runs in a transaction that is rolled back</li>
+ *     <li>{@code SNAPSHOT}: the fixture is launched once and saved with {@code SCRIPT}, and restored with
+ *     {@code RUNSCRIPT} after every writing test</li>
+ * </ul>
+ *
+ * <p>Throughput is reported in tests per millisecond, and sample time gives the p50 and p99 latency of a test.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class FixtureLoadingBenchmark {
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+    private static final int BATCH_SIZE = 1000;
+
+    public enum Strategy {
+        RELAUNCH, BATCH, ROLLBACK, SNAPSHOT
+    }
+
+    @Param({ "100", "10000", "1000000" })
+    int rows;
+
+    @Param({ "1", "4" })
+    int tables;
+
+    @Param({ "0", "3" })
+    int foreignKeyDepth;
+
+    @Param({ "1", "2" })
+    int sources;
+
+    @Param({ "0", "0.5", "0.9" })
+    double skipRatio;
+
+    @Param({ "RELAUNCH", "BATCH", "ROLLBACK", "SNAPSHOT" })
+    Strategy strategy;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<Connection> transactions = new ArrayList<>();
+    private final List<Path> snapshots = new ArrayList<>();
+
+    private DbSetupExtension extension;
+    private ExtensionContext context;
+    private Method testMethod;
+    private long invocation;
+    private boolean dirty;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        for (int i = 0; i < sources; i++) {
+            HikariConfig config = new HikariConfig();
+            // the pool keeps connections open, so the in-memory database lives until the pool is closed
+            config.setJdbcUrl("jdbc:h2:mem:FixtureLoadingBenchmark_" + DATABASE_COUNTER.incrementAndGet());
+            HikariDataSource dataSource = new HikariDataSource(config);
+            createSchema(dataSource);
+            dataSources.add(dataSource);
+        }
+
+        Operation fixture = strategy == Strategy.BATCH ? createBatchFixture() : createInsertFixture();
+
+        switch (strategy) {
+            case RELAUNCH:
+            case BATCH:
+                Object testInstance = sources == 1 ?
+                        SingleSourceFixture.create(dataSources, fixture) : TwoSourceFixture.create(dataSources, fixture);
+                extension = new DbSetupExtension();
+                context = BenchmarkContexts.create(testInstance, () -> testMethod, Collections.emptyMap());
+                extension.postProcessTestInstance(testInstance, context);
+                break;
+            case ROLLBACK:
+                for (DataSource dataSource : dataSources) {
+                    new DbSetup(new DataSourceDestination(dataSource), fixture).launch();
+                    Connection connection = dataSource.getConnection();
+                    connection.setAutoCommit(false);
+                    transactions.add(connection);
+                }
+                break;
+            case SNAPSHOT:
+                for (DataSource dataSource : dataSources) {
+                    new DbSetup(new DataSourceDestination(dataSource), fixture).launch();
+                    Path snapshot = Files.createTempFile("dbsetup-snapshot", ".sql");
+                    execute(dataSource, "SCRIPT DROP TO '" + snapshot + "'");
+                    snapshots.add(snapshot);
+                }
+                break;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        for (Connection connection : transactions) {
+            connection.rollback();
+            connection.close();
+        }
+        for (HikariDataSource dataSource : dataSources) {
+            dataSource.close();
+        }
+        for (Path snapshot : snapshots) {
+            Files.deleteIfExists(snapshot);
+        }
+
+        transactions.clear();
+        dataSources.clear();
+        snapshots.clear();
+    }
+
+    @Benchmark
+    public long test() throws Exception {
+        // spreads the read-only tests evenly, eg. every other test for 0.5
+        long index = invocation++;
+        boolean readOnly = (long) ((index + 1) * skipRatio) > (long) (index * skipRatio);
+
+        switch (strategy) {
+            case RELAUNCH:
+            case BATCH:
+                testMethod = TestMethods.class.getMethod(readOnly ? "readOnly" : "writing");
+                extension.beforeEach(context);
+                return runBody(dataSources, readOnly);
+            case ROLLBACK:
+                long result = 0;
+                for (Connection connection : transactions) {
+                    result += runBody(connection, readOnly);
+                    if (!readOnly) {
+                        connection.rollback();
+                    }
+                }
+                return result;
+            case SNAPSHOT:
+                if (dirty) {
+                    for (int i = 0; i < sources; i++) {
+                        execute(dataSources.get(i), "RUNSCRIPT FROM '" + snapshots.get(i) + "'");
+                    }
+                }
+                dirty = !readOnly;
+                return runBody(dataSources, readOnly);
+            default:
+                throw new IllegalStateException("Unknown strategy " + strategy);
+        }
+    }
+
+    private long runBody(List<? extends DataSource> dataSources, boolean readOnly) throws SQLException {
+        long result = 0;
+        for (DataSource dataSource : dataSources) {
+            try (Connection connection = dataSource.getConnection()) {
+                result += runBody(connection, readOnly);
+            }
+        }
+        return result;
+    }
+
+    private static long runBody(Connection connection, boolean readOnly) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (readOnly) {
+                try (ResultSet resultSet = statement.executeQuery("select count(*) from table0")) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+            return statement.executeUpdate("update table0 set name = 'changed' where id = 1");
+        }
+    }
+
+    private void createSchema(DataSource dataSource) throws SQLException {
+        for (int table = 0; table < tables; table++) {
+            String foreignKey = hasForeignKey(table) ?
+                    ", foreign key (parent_id) references table" + (table - 1) + " (id)" : "";
+            execute(dataSource, "create table table" + table + " (id bigint primary key, parent_id bigint, " +
+                    "name varchar(64), amount double" + foreignKey + ")");
+        }
+    }
+
+    private boolean hasForeignKey(int table) {
+        return table > 0 && table <= foreignKeyDepth;
+    }
+
+    private Operation createInsertFixture() {
+        List<Operation> operations = createDeletes();
+        for (int table = 0; table < tables; table++) {
+            Insert.Builder builder = Insert.into("table" + table).columns("id", "parent_id", "name", "amount");
+            for (long id = 0; id < rows / tables; id++) {
+                builder.values(id, hasForeignKey(table) ? id : null, "name" + id, id * 1.5);
+            }
+            operations.add(builder.build());
+        }
+        return sequenceOf(operations);
+    }
+
+    private Operation createBatchFixture() {
+        List<Operation> operations = createDeletes();
+        for (int table = 0; table < tables; table++) {
+            operations.add(new BatchInsert("table" + table, rows / tables, hasForeignKey(table)));
+        }
+        return sequenceOf(operations);
+    }
+
+    private List<Operation> createDeletes() {
+        List<Operation> operations = new ArrayList<>();
+        for (int table = tables - 1; table >= 0; table--) {
+            operations.add(deleteAllFrom("table" + table));
+        }
+        return operations;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Inserts generated rows in JDBC batches, without building them in memory first.
+     */
+    private static class BatchInsert implements Operation {
+        private final String table;
+        private final long rows;
+        private final boolean withParent;
+
+        BatchInsert(String table, long rows, boolean withParent) {
+            this.table = table;
+            this.rows = rows;
+            this.withParent = withParent;
+        }
+
+        @Override
+        public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+            String sql = "insert into " + table + " (id, parent_id, name, amount) values (?, ?, ?, ?)";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (long id = 0; id < rows; id++) {
+                    statement.setLong(1, id);
+                    if (withParent) {
+                        statement.setLong(2, id);
+                    }
+                    else {
+                        statement.setNull(2, java.sql.Types.BIGINT);
+                    }
+                    statement.setString(3, "name" + id);
+                    statement.setDouble(4, id * 1.5);
+                    statement.addBatch();
+
+                    if ((id + 1) % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    static class TestMethods {
+        @DbSetupSkipNext
+        public void readOnly() {
+        }
+
+        public void writing() {
+        }
+    }
+
+    static class SingleSourceFixture {
+        @DbSetupSource
+        static DataSource dataSource;
+
+        @DbSetupOperation
+        static Operation fixture0;
+
+        static SingleSourceFixture create(List<? extends DataSource> dataSources, Operation fixture) {
+            dataSource = dataSources.get(0);
+            fixture0 = fixture;
+            return new SingleSourceFixture();
+        }
+    }
+
+    static class TwoSourceFixture {
+        @DbSetupSource(name = "source0")
+        static DataSource dataSource0;
+
+        @DbSetupSource(name = "source1")
+        static DataSource dataSource1;
+
+        @DbSetupOperation(sources = { "source0", "source1" })
+        static Operation fixture0;
+
+        static TwoSourceFixture create(List<? extends DataSource> dataSources, Operation fixture) {
+            dataSource0 = dataSources.get(0);
+            dataSource1 = dataSources.get(1);
+            fixture0 = fixture;
+            return new TwoSourceFixture();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the per test cost of launching the operations of a test instance against a {@link NoOpDataSource}, so
+ * that only the extension and DbSetup are measured.
+ *
+ * <p>The launch goes through {@link DbSetupExtension#beforeEach(ExtensionContext)}, which only iterates the
+ * {@code DbSetupHolder}s of the test instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LaunchBenchmark {
+    @Param({ "1", "10", "100" })
+    int fields;
+
+    @Param({ "true", "false" })
+    String jdbcStatistics;
+
+    private DbSetupExtension extension;
+    private ExtensionContext context;
+
+    @Setup
+    public void setup() throws Exception {
+        extension = new DbSetupExtension();
+
+        Object testInstance = OperationFixtures.newInstance(fields, 0);
+        Method testMethod = Object.class.getMethod("toString");
+        context = BenchmarkContexts.create(testInstance, () -> testMethod,
+                Collections.singletonMap(DbSetupExtension.JDBC_STATISTICS_PARAMETER, jdbcStatistics));
+
+        extension.postProcessTestInstance(testInstance, context);
+    }
+
+    @Benchmark
+    public void launch() throws Exception {
+        extension.beforeEach(context);
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.isengrim613.junit5;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.logging.Logger;
+
+/**
+ * A {@link DataSource} whose connections, statements and metadata do nothing, so that a launch only measures the
+ * extension and DbSetup.
+ */
+final class NoOpDataSource implements DataSource {
+    static final NoOpDataSource INSTANCE = new NoOpDataSource();
+
+    private NoOpDataSource() {
+    }
+
+    @Override
+    public Connection getConnection() {
+        return noOp(Connection.class);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getGlobal();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) {
+        return null;
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+
+    private static <T> T noOp(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(NoOpDataSource.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == void.class) {
+                        return null;
+                    }
+                    if (returnType.isPrimitive()) {
+                        // the default value of the primitive, boxed
+                        return Array.get(Array.newInstance(returnType, 1), 0);
+                    }
+                    if (returnType == int[].class) {
+                        return new int[0];
+                    }
+                    if (returnType.isInterface() && returnType.getName().startsWith("java.sql.")) {
+                        return noOp(returnType);
+                    }
+                    return null;
+                }));
+    }
+}
@@ -0,0 +1,1046 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Constructor;
+
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+
+/**
+ * <p>Test classes for the benchmarks.
+ *
+ * <p>{@code FieldsNDepthD} declares its {@link DbSetupSource} in the outermost class and N implicitly ordered
+ * {@link DbSetupOperation}s in its innermost class, which is nested D levels deep the same way {@code @Nested} test
+ * classes are.
+ */
+final class OperationFixtures {
+    static final int[] FIELD_COUNTS = { 1, 10, 100 };
+    static final int MAX_DEPTH = 3;
+
+    private static final Operation OPERATION = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(1, "2")
+            .build();
+
+    private OperationFixtures() {
+        // singleton
+    }
+
+    /**
+     * Creates the innermost instance of {@code FieldsNDepthD}, along with its enclosing instances.
+     *
+     * @param fields Number of operation fields, one of {@link #FIELD_COUNTS}
+     * @param depth Nesting depth, from 0 to {@link #MAX_DEPTH}
+     * @return The innermost instance
+     */
+    static Object newInstance(int fields, int depth) throws Exception {
+        Class<?> clazz = Class.forName(OperationFixtures.class.getName() + "$Fields" + fields + "Depth" + depth);
+        Object instance = clazz.getDeclaredConstructor().newInstance();
+
+        for (int level = 1; level <= depth; level++) {
+            Class<?> inner = Class.forName(clazz.getName() + "$Level" + level);
+            Constructor<?> constructor = inner.getDeclaredConstructor(clazz);
+            instance = constructor.newInstance(instance);
+            clazz = inner;
+        }
+
+        return instance;
+    }
+
+    static class Fields1Depth0 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        @DbSetupOperation
+        Operation operation0 = OPERATION;
+    }
+
+    static class Fields1Depth1 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            @DbSetupOperation
+            Operation operation0 = OPERATION;
+        }
+    }
+
+    static class Fields1Depth2 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                @DbSetupOperation
+                Operation operation0 = OPERATION;
+            }
+        }
+    }
+
+    static class Fields1Depth3 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                class Level3 {
+                    @DbSetupOperation
+                    Operation operation0 = OPERATION;
+                }
+            }
+        }
+    }
+
+    static class Fields10Depth0 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        @DbSetupOperation
+        Operation operation0 = OPERATION;
+        @DbSetupOperation
+        Operation operation1 = OPERATION;
+        @DbSetupOperation
+        Operation operation2 = OPERATION;
+        @DbSetupOperation
+        Operation operation3 = OPERATION;
+        @DbSetupOperation
+        Operation operation4 = OPERATION;
+        @DbSetupOperation
+        Operation operation5 = OPERATION;
+        @DbSetupOperation
+        Operation operation6 = OPERATION;
+        @DbSetupOperation
+        Operation operation7 = OPERATION;
+        @DbSetupOperation
+        Operation operation8 = OPERATION;
+        @DbSetupOperation
+        Operation operation9 = OPERATION;
+    }
+
+    static class Fields10Depth1 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            @DbSetupOperation
+            Operation operation0 = OPERATION;
+            @DbSetupOperation
+            Operation operation1 = OPERATION;
+            @DbSetupOperation
+            Operation operation2 = OPERATION;
+            @DbSetupOperation
+            Operation operation3 = OPERATION;
+            @DbSetupOperation
+            Operation operation4 = OPERATION;
+            @DbSetupOperation
+            Operation operation5 = OPERATION;
+            @DbSetupOperation
+            Operation operation6 = OPERATION;
+            @DbSetupOperation
+            Operation operation7 = OPERATION;
+            @DbSetupOperation
+            Operation operation8 = OPERATION;
+            @DbSetupOperation
+            Operation operation9 = OPERATION;
+        }
+    }
+
+    static class Fields10Depth2 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                @DbSetupOperation
+                Operation operation0 = OPERATION;
+                @DbSetupOperation
+                Operation operation1 = OPERATION;
+                @DbSetupOperation
+                Operation operation2 = OPERATION;
+                @DbSetupOperation
+                Operation operation3 = OPERATION;
+                @DbSetupOperation
+                Operation operation4 = OPERATION;
+                @DbSetupOperation
+                Operation operation5 = OPERATION;
+                @DbSetupOperation
+                Operation operation6 = OPERATION;
+                @DbSetupOperation
+                Operation operation7 = OPERATION;
+                @DbSetupOperation
+                Operation operation8 = OPERATION;
+                @DbSetupOperation
+                Operation operation9 = OPERATION;
+            }
+        }
+    }
+
+    static class Fields10Depth3 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                class Level3 {
+                    @DbSetupOperation
+                    Operation operation0 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation1 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation2 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation3 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation4 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation5 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation6 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation7 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation8 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation9 = OPERATION;
+                }
+            }
+        }
+    }
+
+    static class Fields100Depth0 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        @DbSetupOperation
+        Operation operation0 = OPERATION;
+        @DbSetupOperation
+        Operation operation1 = OPERATION;
+        @DbSetupOperation
+        Operation operation2 = OPERATION;
+        @DbSetupOperation
+        Operation operation3 = OPERATION;
+        @DbSetupOperation
+        Operation operation4 = OPERATION;
+        @DbSetupOperation
+        Operation operation5 = OPERATION;
+        @DbSetupOperation
+        Operation operation6 = OPERATION;
+        @DbSetupOperation
+        Operation operation7 = OPERATION;
+        @DbSetupOperation
+        Operation operation8 = OPERATION;
+        @DbSetupOperation
+        Operation operation9 = OPERATION;
+        @DbSetupOperation
+        Operation operation10 = OPERATION;
+        @DbSetupOperation
+        Operation operation11 = OPERATION;
+        @DbSetupOperation
+        Operation operation12 = OPERATION;
+        @DbSetupOperation
+        Operation operation13 = OPERATION;
+        @DbSetupOperation
+        Operation operation14 = OPERATION;
+        @DbSetupOperation
+        Operation operation15 = OPERATION;
+        @DbSetupOperation
+        Operation operation16 = OPERATION;
+        @DbSetupOperation
+        Operation operation17 = OPERATION;
+        @DbSetupOperation
+        Operation operation18 = OPERATION;
+        @DbSetupOperation
+        Operation operation19 = OPERATION;
+        @DbSetupOperation
+        Operation operation20 = OPERATION;
+        @DbSetupOperation
+        Operation operation21 = OPERATION;
+        @DbSetupOperation
+        Operation operation22 = OPERATION;
+        @DbSetupOperation
+        Operation operation23 = OPERATION;
+        @DbSetupOperation
+        Operation operation24 = OPERATION;
+        @DbSetupOperation
+        Operation operation25 = OPERATION;
+        @DbSetupOperation
+        Operation operation26 = OPERATION;
+        @DbSetupOperation
+        Operation operation27 = OPERATION;
+        @DbSetupOperation
+        Operation operation28 = OPERATION;
+        @DbSetupOperation
+        Operation operation29 = OPERATION;
+        @DbSetupOperation
+        Operation operation30 = OPERATION;
+        @DbSetupOperation
+        Operation operation31 = OPERATION;
+        @DbSetupOperation
+        Operation operation32 = OPERATION;
+        @DbSetupOperation
+        Operation operation33 = OPERATION;
+        @DbSetupOperation
+        Operation operation34 = OPERATION;
+        @DbSetupOperation
+        Operation operation35 = OPERATION;
+        @DbSetupOperation
+        Operation operation36 = OPERATION;
+        @DbSetupOperation
+        Operation operation37 = OPERATION;
+        @DbSetupOperation
+        Operation operation38 = OPERATION;
+        @DbSetupOperation
+        Operation operation39 = OPERATION;
+        @DbSetupOperation
+        Operation operation40 = OPERATION;
+        @DbSetupOperation
+        Operation operation41 = OPERATION;
+        @DbSetupOperation
+        Operation operation42 = OPERATION;
+        @DbSetupOperation
+        Operation operation43 = OPERATION;
+        @DbSetupOperation
+        Operation operation44 = OPERATION;
+        @DbSetupOperation
+        Operation operation45 = OPERATION;
+        @DbSetupOperation
+        Operation operation46 = OPERATION;
+        @DbSetupOperation
+        Operation operation47 = OPERATION;
+        @DbSetupOperation
+        Operation operation48 = OPERATION;
+        @DbSetupOperation
+        Operation operation49 = OPERATION;
+        @DbSetupOperation
+        Operation operation50 = OPERATION;
+        @DbSetupOperation
+        Operation operation51 = OPERATION;
+        @DbSetupOperation
+        Operation operation52 = OPERATION;
+        @DbSetupOperation
+        Operation operation53 = OPERATION;
+        @DbSetupOperation
+        Operation operation54 = OPERATION;
+        @DbSetupOperation
+        Operation operation55 = OPERATION;
+        @DbSetupOperation
+        Operation operation56 = OPERATION;
+        @DbSetupOperation
+        Operation operation57 = OPERATION;
+        @DbSetupOperation
+        Operation operation58 = OPERATION;
+        @DbSetupOperation
+        Operation operation59 = OPERATION;
+        @DbSetupOperation
+        Operation operation60 = OPERATION;
+        @DbSetupOperation
+        Operation operation61 = OPERATION;
+        @DbSetupOperation
+        Operation operation62 = OPERATION;
+        @DbSetupOperation
+        Operation operation63 = OPERATION;
+        @DbSetupOperation
+        Operation operation64 = OPERATION;
+        @DbSetupOperation
+        Operation operation65 = OPERATION;
+        @DbSetupOperation
+        Operation operation66 = OPERATION;
+        @DbSetupOperation
+        Operation operation67 = OPERATION;
+        @DbSetupOperation
+        Operation operation68 = OPERATION;
+        @DbSetupOperation
+        Operation operation69 = OPERATION;
+        @DbSetupOperation
+        Operation operation70 = OPERATION;
+        @DbSetupOperation
+        Operation operation71 = OPERATION;
+        @DbSetupOperation
+        Operation operation72 = OPERATION;
+        @DbSetupOperation
+        Operation operation73 = OPERATION;
+        @DbSetupOperation
+        Operation operation74 = OPERATION;
+        @DbSetupOperation
+        Operation operation75 = OPERATION;
+        @DbSetupOperation
+        Operation operation76 = OPERATION;
+        @DbSetupOperation
+        Operation operation77 = OPERATION;
+        @DbSetupOperation
+        Operation operation78 = OPERATION;
+        @DbSetupOperation
+        Operation operation79 = OPERATION;
+        @DbSetupOperation
+        Operation operation80 = OPERATION;
+        @DbSetupOperation
+        Operation operation81 = OPERATION;
+        @DbSetupOperation
+        Operation operation82 = OPERATION;
+        @DbSetupOperation
+        Operation operation83 = OPERATION;
+        @DbSetupOperation
+        Operation operation84 = OPERATION;
+        @DbSetupOperation
+        Operation operation85 = OPERATION;
+        @DbSetupOperation
+        Operation operation86 = OPERATION;
+        @DbSetupOperation
+        Operation operation87 = OPERATION;
+        @DbSetupOperation
+        Operation operation88 = OPERATION;
+        @DbSetupOperation
+        Operation operation89 = OPERATION;
+        @DbSetupOperation
+        Operation operation90 = OPERATION;
+        @DbSetupOperation
+        Operation operation91 = OPERATION;
+        @DbSetupOperation
+        Operation operation92 = OPERATION;
+        @DbSetupOperation
+        Operation operation93 = OPERATION;
+        @DbSetupOperation
+        Operation operation94 = OPERATION;
+        @DbSetupOperation
+        Operation operation95 = OPERATION;
+        @DbSetupOperation
+        Operation operation96 = OPERATION;
+        @DbSetupOperation
+        Operation operation97 = OPERATION;
+        @DbSetupOperation
+        Operation operation98 = OPERATION;
+        @DbSetupOperation
+        Operation operation99 = OPERATION;
+    }
+
+    static class Fields100Depth1 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            @DbSetupOperation
+            Operation operation0 = OPERATION;
+            @DbSetupOperation
+            Operation operation1 = OPERATION;
+            @DbSetupOperation
+            Operation operation2 = OPERATION;
+            @DbSetupOperation
+            Operation operation3 = OPERATION;
+            @DbSetupOperation
+            Operation operation4 = OPERATION;
+            @DbSetupOperation
+            Operation operation5 = OPERATION;
+            @DbSetupOperation
+            Operation operation6 = OPERATION;
+            @DbSetupOperation
+            Operation operation7 = OPERATION;
+            @DbSetupOperation
+            Operation operation8 = OPERATION;
+            @DbSetupOperation
+            Operation operation9 = OPERATION;
+            @DbSetupOperation
+            Operation operation10 = OPERATION;
+            @DbSetupOperation
+            Operation operation11 = OPERATION;
+            @DbSetupOperation
+            Operation operation12 = OPERATION;
+            @DbSetupOperation
+            Operation operation13 = OPERATION;
+            @DbSetupOperation
+            Operation operation14 = OPERATION;
+            @DbSetupOperation
+            Operation operation15 = OPERATION;
+            @DbSetupOperation
+            Operation operation16 = OPERATION;
+            @DbSetupOperation
+            Operation operation17 = OPERATION;
+            @DbSetupOperation
+            Operation operation18 = OPERATION;
+            @DbSetupOperation
+            Operation operation19 = OPERATION;
+            @DbSetupOperation
+            Operation operation20 = OPERATION;
+            @DbSetupOperation
+            Operation operation21 = OPERATION;
+            @DbSetupOperation
+            Operation operation22 = OPERATION;
+            @DbSetupOperation
+            Operation operation23 = OPERATION;
+            @DbSetupOperation
+            Operation operation24 = OPERATION;
+            @DbSetupOperation
+            Operation operation25 = OPERATION;
+            @DbSetupOperation
+            Operation operation26 = OPERATION;
+            @DbSetupOperation
+            Operation operation27 = OPERATION;
+            @DbSetupOperation
+            Operation operation28 = OPERATION;
+            @DbSetupOperation
+            Operation operation29 = OPERATION;
+            @DbSetupOperation
+            Operation operation30 = OPERATION;
+            @DbSetupOperation
+            Operation operation31 = OPERATION;
+            @DbSetupOperation
+            Operation operation32 = OPERATION;
+            @DbSetupOperation
+            Operation operation33 = OPERATION;
+            @DbSetupOperation
+            Operation operation34 = OPERATION;
+            @DbSetupOperation
+            Operation operation35 = OPERATION;
+            @DbSetupOperation
+            Operation operation36 = OPERATION;
+            @DbSetupOperation
+            Operation operation37 = OPERATION;
+            @DbSetupOperation
+            Operation operation38 = OPERATION;
+            @DbSetupOperation
+            Operation operation39 = OPERATION;
+            @DbSetupOperation
+            Operation operation40 = OPERATION;
+            @DbSetupOperation
+            Operation operation41 = OPERATION;
+            @DbSetupOperation
+            Operation operation42 = OPERATION;
+            @DbSetupOperation
+            Operation operation43 = OPERATION;
+            @DbSetupOperation
+            Operation operation44 = OPERATION;
+            @DbSetupOperation
+            Operation operation45 = OPERATION;
+            @DbSetupOperation
+            Operation operation46 = OPERATION;
+            @DbSetupOperation
+            Operation operation47 = OPERATION;
+            @DbSetupOperation
+            Operation operation48 = OPERATION;
+            @DbSetupOperation
+            Operation operation49 = OPERATION;
+            @DbSetupOperation
+            Operation operation50 = OPERATION;
+            @DbSetupOperation
+            Operation operation51 = OPERATION;
+            @DbSetupOperation
+            Operation operation52 = OPERATION;
+            @DbSetupOperation
+            Operation operation53 = OPERATION;
+            @DbSetupOperation
+            Operation operation54 = OPERATION;
+            @DbSetupOperation
+            Operation operation55 = OPERATION;
+            @DbSetupOperation
+            Operation operation56 = OPERATION;
+            @DbSetupOperation
+            Operation operation57 = OPERATION;
+            @DbSetupOperation
+            Operation operation58 = OPERATION;
+            @DbSetupOperation
+            Operation operation59 = OPERATION;
+            @DbSetupOperation
+            Operation operation60 = OPERATION;
+            @DbSetupOperation
+            Operation operation61 = OPERATION;
+            @DbSetupOperation
+            Operation operation62 = OPERATION;
+            @DbSetupOperation
+            Operation operation63 = OPERATION;
+            @DbSetupOperation
+            Operation operation64 = OPERATION;
+            @DbSetupOperation
+            Operation operation65 = OPERATION;
+            @DbSetupOperation
+            Operation operation66 = OPERATION;
+            @DbSetupOperation
+            Operation operation67 = OPERATION;
+            @DbSetupOperation
+            Operation operation68 = OPERATION;
+            @DbSetupOperation
+            Operation operation69 = OPERATION;
+            @DbSetupOperation
+            Operation operation70 = OPERATION;
+            @DbSetupOperation
+            Operation operation71 = OPERATION;
+            @DbSetupOperation
+            Operation operation72 = OPERATION;
+            @DbSetupOperation
+            Operation operation73 = OPERATION;
+            @DbSetupOperation
+            Operation operation74 = OPERATION;
+            @DbSetupOperation
+            Operation operation75 = OPERATION;
+            @DbSetupOperation
+            Operation operation76 = OPERATION;
+            @DbSetupOperation
+            Operation operation77 = OPERATION;
+            @DbSetupOperation
+            Operation operation78 = OPERATION;
+            @DbSetupOperation
+            Operation operation79 = OPERATION;
+            @DbSetupOperation
+            Operation operation80 = OPERATION;
+            @DbSetupOperation
+            Operation operation81 = OPERATION;
+            @DbSetupOperation
+            Operation operation82 = OPERATION;
+            @DbSetupOperation
+            Operation operation83 = OPERATION;
+            @DbSetupOperation
+            Operation operation84 = OPERATION;
+            @DbSetupOperation
+            Operation operation85 = OPERATION;
+            @DbSetupOperation
+            Operation operation86 = OPERATION;
+            @DbSetupOperation
+            Operation operation87 = OPERATION;
+            @DbSetupOperation
+            Operation operation88 = OPERATION;
+            @DbSetupOperation
+            Operation operation89 = OPERATION;
+            @DbSetupOperation
+            Operation operation90 = OPERATION;
+            @DbSetupOperation
+            Operation operation91 = OPERATION;
+            @DbSetupOperation
+            Operation operation92 = OPERATION;
+            @DbSetupOperation
+            Operation operation93 = OPERATION;
+            @DbSetupOperation
+            Operation operation94 = OPERATION;
+            @DbSetupOperation
+            Operation operation95 = OPERATION;
+            @DbSetupOperation
+            Operation operation96 = OPERATION;
+            @DbSetupOperation
+            Operation operation97 = OPERATION;
+            @DbSetupOperation
+            Operation operation98 = OPERATION;
+            @DbSetupOperation
+            Operation operation99 = OPERATION;
+        }
+    }
+
+    static class Fields100Depth2 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                @DbSetupOperation
+                Operation operation0 = OPERATION;
+                @DbSetupOperation
+                Operation operation1 = OPERATION;
+                @DbSetupOperation
+                Operation operation2 = OPERATION;
+                @DbSetupOperation
+                Operation operation3 = OPERATION;
+                @DbSetupOperation
+                Operation operation4 = OPERATION;
+                @DbSetupOperation
+                Operation operation5 = OPERATION;
+                @DbSetupOperation
+                Operation operation6 = OPERATION;
+                @DbSetupOperation
+                Operation operation7 = OPERATION;
+                @DbSetupOperation
+                Operation operation8 = OPERATION;
+                @DbSetupOperation
+                Operation operation9 = OPERATION;
+                @DbSetupOperation
+                Operation operation10 = OPERATION;
+                @DbSetupOperation
+                Operation operation11 = OPERATION;
+                @DbSetupOperation
+                Operation operation12 = OPERATION;
+                @DbSetupOperation
+                Operation operation13 = OPERATION;
+                @DbSetupOperation
+                Operation operation14 = OPERATION;
+                @DbSetupOperation
+                Operation operation15 = OPERATION;
+                @DbSetupOperation
+                Operation operation16 = OPERATION;
+                @DbSetupOperation
+                Operation operation17 = OPERATION;
+                @DbSetupOperation
+                Operation operation18 = OPERATION;
+                @DbSetupOperation
+                Operation operation19 = OPERATION;
+                @DbSetupOperation
+                Operation operation20 = OPERATION;
+                @DbSetupOperation
+                Operation operation21 = OPERATION;
+                @DbSetupOperation
+                Operation operation22 = OPERATION;
+                @DbSetupOperation
+                Operation operation23 = OPERATION;
+                @DbSetupOperation
+                Operation operation24 = OPERATION;
+                @DbSetupOperation
+                Operation operation25 = OPERATION;
+                @DbSetupOperation
+                Operation operation26 = OPERATION;
+                @DbSetupOperation
+                Operation operation27 = OPERATION;
+                @DbSetupOperation
+                Operation operation28 = OPERATION;
+                @DbSetupOperation
+                Operation operation29 = OPERATION;
+                @DbSetupOperation
+                Operation operation30 = OPERATION;
+                @DbSetupOperation
+                Operation operation31 = OPERATION;
+                @DbSetupOperation
+                Operation operation32 = OPERATION;
+                @DbSetupOperation
+                Operation operation33 = OPERATION;
+                @DbSetupOperation
+                Operation operation34 = OPERATION;
+                @DbSetupOperation
+                Operation operation35 = OPERATION;
+                @DbSetupOperation
+                Operation operation36 = OPERATION;
+                @DbSetupOperation
+                Operation operation37 = OPERATION;
+                @DbSetupOperation
+                Operation operation38 = OPERATION;
+                @DbSetupOperation
+                Operation operation39 = OPERATION;
+                @DbSetupOperation
+                Operation operation40 = OPERATION;
+                @DbSetupOperation
+                Operation operation41 = OPERATION;
+                @DbSetupOperation
+                Operation operation42 = OPERATION;
+                @DbSetupOperation
+                Operation operation43 = OPERATION;
+                @DbSetupOperation
+                Operation operation44 = OPERATION;
+                @DbSetupOperation
+                Operation operation45 = OPERATION;
+                @DbSetupOperation
+                Operation operation46 = OPERATION;
+                @DbSetupOperation
+                Operation operation47 = OPERATION;
+                @DbSetupOperation
+                Operation operation48 = OPERATION;
+                @DbSetupOperation
+                Operation operation49 = OPERATION;
+                @DbSetupOperation
+                Operation operation50 = OPERATION;
+                @DbSetupOperation
+                Operation operation51 = OPERATION;
+                @DbSetupOperation
+                Operation operation52 = OPERATION;
+                @DbSetupOperation
+                Operation operation53 = OPERATION;
+                @DbSetupOperation
+                Operation operation54 = OPERATION;
+                @DbSetupOperation
+                Operation operation55 = OPERATION;
+                @DbSetupOperation
+                Operation operation56 = OPERATION;
+                @DbSetupOperation
+                Operation operation57 = OPERATION;
+                @DbSetupOperation
+                Operation operation58 = OPERATION;
+                @DbSetupOperation
+                Operation operation59 = OPERATION;
+                @DbSetupOperation
+                Operation operation60 = OPERATION;
+                @DbSetupOperation
+                Operation operation61 = OPERATION;
+                @DbSetupOperation
+                Operation operation62 = OPERATION;
+                @DbSetupOperation
+                Operation operation63 = OPERATION;
+                @DbSetupOperation
+                Operation operation64 = OPERATION;
+                @DbSetupOperation
+                Operation operation65 = OPERATION;
+                @DbSetupOperation
+                Operation operation66 = OPERATION;
+                @DbSetupOperation
+                Operation operation67 = OPERATION;
+                @DbSetupOperation
+                Operation operation68 = OPERATION;
+                @DbSetupOperation
+                Operation operation69 = OPERATION;
+                @DbSetupOperation
+                Operation operation70 = OPERATION;
+                @DbSetupOperation
+                Operation operation71 = OPERATION;
+                @DbSetupOperation
+                Operation operation72 = OPERATION;
+                @DbSetupOperation
+                Operation operation73 = OPERATION;
+                @DbSetupOperation
+                Operation operation74 = OPERATION;
+                @DbSetupOperation
+                Operation operation75 = OPERATION;
+                @DbSetupOperation
+                Operation operation76 = OPERATION;
+                @DbSetupOperation
+                Operation operation77 = OPERATION;
+                @DbSetupOperation
+                Operation operation78 = OPERATION;
+                @DbSetupOperation
+                Operation operation79 = OPERATION;
+                @DbSetupOperation
+                Operation operation80 = OPERATION;
+                @DbSetupOperation
+                Operation operation81 = OPERATION;
+                @DbSetupOperation
+                Operation operation82 = OPERATION;
+                @DbSetupOperation
+                Operation operation83 = OPERATION;
+                @DbSetupOperation
+                Operation operation84 = OPERATION;
+                @DbSetupOperation
+                Operation operation85 = OPERATION;
+                @DbSetupOperation
+                Operation operation86 = OPERATION;
+                @DbSetupOperation
+                Operation operation87 = OPERATION;
+                @DbSetupOperation
+                Operation operation88 = OPERATION;
+                @DbSetupOperation
+                Operation operation89 = OPERATION;
+                @DbSetupOperation
+                Operation operation90 = OPERATION;
+                @DbSetupOperation
+                Operation operation91 = OPERATION;
+                @DbSetupOperation
+                Operation operation92 = OPERATION;
+                @DbSetupOperation
+                Operation operation93 = OPERATION;
+                @DbSetupOperation
+                Operation operation94 = OPERATION;
+                @DbSetupOperation
+                Operation operation95 = OPERATION;
+                @DbSetupOperation
+                Operation operation96 = OPERATION;
+                @DbSetupOperation
+                Operation operation97 = OPERATION;
+                @DbSetupOperation
+                Operation operation98 = OPERATION;
+                @DbSetupOperation
+                Operation operation99 = OPERATION;
+            }
+        }
+    }
+
+    static class Fields100Depth3 {
+        @DbSetupSource
+        DataSource dataSource = NoOpDataSource.INSTANCE;
+
+        class Level1 {
+            class Level2 {
+                class Level3 {
+                    @DbSetupOperation
+                    Operation operation0 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation1 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation2 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation3 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation4 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation5 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation6 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation7 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation8 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation9 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation10 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation11 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation12 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation13 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation14 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation15 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation16 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation17 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation18 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation19 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation20 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation21 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation22 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation23 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation24 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation25 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation26 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation27 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation28 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation29 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation30 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation31 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation32 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation33 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation34 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation35 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation36 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation37 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation38 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation39 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation40 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation41 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation42 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation43 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation44 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation45 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation46 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation47 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation48 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation49 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation50 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation51 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation52 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation53 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation54 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation55 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation56 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation57 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation58 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation59 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation60 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation61 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation62 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation63 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation64 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation65 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation66 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation67 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation68 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation69 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation70 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation71 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation72 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation73 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation74 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation75 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation76 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation77 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation78 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation79 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation80 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation81 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation82 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation83 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation84 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation85 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation86 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation87 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation88 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation89 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation90 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation91 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation92 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation93 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation94 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation95 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation96 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation97 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation98 = OPERATION;
+                    @DbSetupOperation
+                    Operation operation99 = OPERATION;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * <p>An {@link Operation} that saves the database it produces to an H2 {@code SCRIPT} file, and restores that file
+ * with {@code RUNSCRIPT} instead of executing the operation again, even in a later JVM.
+ *
+ * <p>Files are kept in the directory set by the {@value #DIRECTORY_PARAMETER} configuration parameter and named after a
+ * hash of the operation, the schema of the database before the operation, the binder configuration and the database
+ * version, so changing any of them simply misses the cache. Operations whose description is not stable across JVMs,
+ * such as a custom operation without {@code toString()}, are never cached. Other databases than H2 are not cached
+ * either.
+ *
+ * <p>The whole database is saved with {@code SCRIPT DROP} and restored over the current one, so every table is
+ * replaced, including the tables the operation never touches, and the rows of the database before the operation are
+ * not part of the hash. This is why caching is only done for a {@link DbSetupSource#cached()} data source, whose
+ * database the operations entirely set up.
+ *
+ * <p>Equality is based on the wrapped operation only, so that the tracker still recognizes a setup it has already
+ * launched.
+ */
+class CachingOperation implements Operation {
+    private static final Logger LOGGER = Logger.getLogger(CachingOperation.class.getName());
+    private static final Pattern IDENTITY_TO_STRING = Pattern.compile("[\\w$]+\\.[\\w$./]*@[0-9a-f]+\\b");
+    private static final Pattern SEQUENCE_VALUE = Pattern.compile("(RESTART|START) WITH \\d+");
+    private static final Pattern SYSTEM_SEQUENCE_NAME = Pattern.compile("SYSTEM_SEQUENCE_[0-9A-F_]+");
+
+    static final String DIRECTORY_PARAMETER = "dbsetup.cache.directory";
+
+    private final Operation operation;
+    private final Path directory;
+
+    CachingOperation(Operation operation, Path directory) {
+        this.operation = operation;
+        this.directory = directory;
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        if (!"H2".equals(metaData.getDatabaseProductName())) {
+            LOGGER.log(Level.FINE, "Not caching on {0}", metaData.getDatabaseProductName());
+            operation.execute(connection, configuration);
+            return;
+        }
+
+        String description = operation + "\n" + configuration.getClass().getName() + ' ' + configuration;
+        if (IDENTITY_TO_STRING.matcher(description).find()) {
+            LOGGER.log(Level.FINE, "Not caching {0} because it has no stable description", operation);
+            operation.execute(connection, configuration);
+            return;
+        }
+
+        Path file = directory.resolve(hash(description, metaData.getDatabaseProductVersion(), getSchema(connection)) +
+                ".sql");
+        if (Files.isRegularFile(file)) {
+            LOGGER.log(Level.FINE, "Restoring {0}", file);
+            execute(connection, "RUNSCRIPT FROM '" + quote(file) + "'");
+            return;
+        }
+
+        operation.execute(connection, configuration);
+        save(connection, file);
+    }
+
+    private void save(Connection connection, Path file) throws SQLException {
+        Path temporaryFile;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, "dbsetup", ".tmp");
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot write to " + directory, e);
+            return;
+        }
+
+        try {
+            execute(connection, "SCRIPT DROP TO '" + quote(temporaryFile) + "'");
+
+            // another fork may be saving the same file, whichever moves last wins with identical content
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.log(Level.FINE, "Saved {0}", file);
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot save " + file, e);
+        }
+        finally {
+            try {
+                Files.deleteIfExists(temporaryFile);
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.FINE, "Cannot delete " + temporaryFile, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the DDL of the database, without the parts that change with the data or between databases created the same
+     * way, such as row counts, sequence values, generated sequence names and password salts.
+     */
+    private static String getSchema(Connection connection) throws SQLException {
+        StringBuilder schema = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS")) {
+            while (resultSet.next()) {
+                String line = resultSet.getString(1);
+                if (line.startsWith("--") || line.startsWith("CREATE USER")) {
+                    continue;
+                }
+                line = SEQUENCE_VALUE.matcher(line).replaceAll("$1");
+                line = SYSTEM_SEQUENCE_NAME.matcher(line).replaceAll("SYSTEM_SEQUENCE");
+                schema.append(line).append('\n');
+            }
+        }
+        return schema.toString();
+    }
+
+    private static String hash(String... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String quote(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return operation.equals(((CachingOperation) o).operation);
+    }
+
+    @Override
+    public int hashCode() {
+        return operation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingOperation [operation=" + operation + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>An {@link Operation} that executes another operation with the foreign key checks of the database turned off or
+ * deferred, so that rows can be inserted in any order and are not checked one at a time.
+ *
+ * <ul>
+ *     <li>H2: {@code SET REFERENTIAL_INTEGRITY FALSE}, restored to the previous value, or to {@code TRUE} when H2
+ *     does not expose it, as 1.4 does not</li>
+ *     <li>MySQL and MariaDB: {@code SET FOREIGN_KEY_CHECKS = 0}, restored to the previous value</li>
+ *     <li>PostgreSQL: {@code SET CONSTRAINTS ALL DEFERRED}, restored to {@code IMMEDIATE}, which only affects
+ *     constraints declared {@code DEFERRABLE}</li>
+ * </ul>
+ *
+ * <p>Other databases run the operation unchanged. The settings are restored whether the operation succeeds or not.
+ * H2 and MySQL do not check the rows inserted meanwhile when the checks are turned back on, so a fixture breaking a
+ * foreign key loads without error.
+ *
+ * <p>The H2 setting applies to the whole database, not to the connection. Launches running concurrently on one H2
+ * database, from data sources with the same url for instance, turn the checks off and back on underneath each other.
+ *
+ * <p>Equality and description are based on the wrapped operation, so that the tracker and the fixture cache still
+ * recognize it.
+ */
+class ConstraintDeferringOperation implements Operation {
+    private static final Logger LOGGER = Logger.getLogger(ConstraintDeferringOperation.class.getName());
+
+    private final Operation operation;
+
+    ConstraintDeferringOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        String restore;
+        switch (product) {
+            case "H2":
+                String integrity = h2ReferentialIntegrity(connection);
+                if ("FALSE".equalsIgnoreCase(integrity)) {
+                    LOGGER.log(Level.FINE, "Referential integrity of H2 is already off");
+                    operation.execute(connection, configuration);
+                    return;
+                }
+                restore = "SET REFERENTIAL_INTEGRITY " + (integrity == null ? "TRUE" : integrity);
+                execute(connection, "SET REFERENTIAL_INTEGRITY FALSE");
+                break;
+            case "MySQL":
+            case "MariaDB":
+                restore = "SET FOREIGN_KEY_CHECKS = " + query(connection, "SELECT @@SESSION.FOREIGN_KEY_CHECKS");
+                execute(connection, "SET FOREIGN_KEY_CHECKS = 0");
+                break;
+            case "PostgreSQL":
+                execute(connection, "SET CONSTRAINTS ALL DEFERRED");
+                restore = "SET CONSTRAINTS ALL IMMEDIATE";
+                break;
+            default:
+                LOGGER.log(Level.FINE, "Cannot defer constraints on {0}", product);
+                operation.execute(connection, configuration);
+                return;
+        }
+
+        LOGGER.log(Level.FINE, "Deferred constraints on {0} until {1}", new Object[] { product, restore });
+        try {
+            operation.execute(connection, configuration);
+        }
+        catch (SQLException | RuntimeException e) {
+            try {
+                // H2 commits when the setting changes, which must not commit a failed launch
+                connection.rollback();
+                execute(connection, restore);
+            }
+            catch (SQLException restoreException) {
+                e.addSuppressed(restoreException);
+            }
+            throw e;
+        }
+        execute(connection, restore);
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Reads the referential integrity setting of H2, whose settings table has the name in its first column and the
+     * value in its second one.
+     *
+     * @return The setting, or null if this version of H2 does not expose it, such as 1.4
+     */
+    private static String h2ReferentialIntegrity(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM INFORMATION_SCHEMA.SETTINGS")) {
+            while (resultSet.next()) {
+                if ("REFERENTIAL_INTEGRITY".equalsIgnoreCase(resultSet.getString(1))) {
+                    return resultSet.getString(2);
+                }
+            }
+        }
+        LOGGER.log(Level.FINE, "H2 does not expose its referential integrity, assuming it is on");
+        return null;
+    }
+
+    private static String query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return operation.equals(((ConstraintDeferringOperation) o).operation);
+    }
+
+    @Override
+    public int hashCode() {
+        return operation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ConstraintDeferringOperation [" + operation + "]";
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.destination.Destination;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * <p>A {@link Destination} that hands out connections counting the JDBC calls made by the operations into a
+ * {@link DbSetupJdbcStatistics}.
+ *
+ * <p>Equality is based on the data source only, the same way as
+ * {@link com.ninja_squad.dbsetup.destination.DataSourceDestination}, so that the tracker still recognizes a setup it has
+ * already launched.
+ */
+class CountingDestination implements Destination {
+    private final DataSource dataSource;
+    private final DbSetupJdbcStatistics statistics;
+
+    CountingDestination(DataSource dataSource, DbSetupJdbcStatistics statistics) {
+        this.dataSource = dataSource;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection, statistics));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return dataSource.equals(((CountingDestination) o).dataSource);
+    }
+
+    @Override
+    public int hashCode() {
+        return dataSource.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CountingDestination [dataSource=" + dataSource + "]";
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDestination.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final DbSetupJdbcStatistics statistics;
+
+        ConnectionHandler(Connection connection, DbSetupJdbcStatistics statistics) {
+            this.connection = connection;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = CountingDestination.invoke(connection, method, args);
+            if (result == null && method.getReturnType() != void.class) {
+                return null;
+            }
+
+            switch (method.getName()) {
+                case "prepareStatement":
+                    statistics.prepared();
+                    return proxy(PreparedStatement.class, new StatementHandler(result, statistics));
+                case "prepareCall":
+                    statistics.prepared();
+                    return proxy(CallableStatement.class, new StatementHandler(result, statistics));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(result, statistics));
+                case "commit":
+                case "rollback":
+                    statistics.transactionEnded();
+                    return result;
+                case "getMetaData":
+                    statistics.metadataCalled();
+                    return result;
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Object statement;
+        private final DbSetupJdbcStatistics statistics;
+
+        StatementHandler(Object statement, DbSetupJdbcStatistics statistics) {
+            this.statement = statement;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = CountingDestination.invoke(statement, method, args);
+            if (result == null && method.getReturnType() != void.class) {
+                return null;
+            }
+
+            switch (method.getName()) {
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    statistics.executed(((Number) result).longValue());
+                    return result;
+                case "executeQuery":
+                    statistics.executed(0);
+                    return result;
+                case "execute":
+                    statistics.executed(Boolean.TRUE.equals(result) ? 0 : ((Statement) statement).getUpdateCount());
+                    return result;
+                case "executeBatch":
+                    statistics.batchExecuted(sum((int[]) result));
+                    return result;
+                case "executeLargeBatch":
+                    statistics.batchExecuted(sum((long[]) result));
+                    return result;
+                case "getParameterMetaData":
+                case "getMetaData":
+                    statistics.metadataCalled();
+                    return result;
+                default:
+                    return result;
+            }
+        }
+
+        private static long sum(int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+
+        private static long sum(long[] counts) {
+            long sum = 0;
+            for (long count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.isengrim613.junit5;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Reads and writes the lines of the CSV files of the extension, the {@link DbSetupColumnarInsert#fromCsv} data and
+ * the {@link DbSetupReport} read back as a {@link DbSetupBudget} baseline.
+ *
+ * <p>Fields are separated by commas and quoted with double quotes, a double quote being written twice inside a quoted
+ * field. Quoted fields cannot span lines.
+ */
+final class CsvLines {
+    private CsvLines() {
+        // utility
+    }
+
+    /**
+     * Parses a CSV line, returning null for an empty unquoted field.
+     *
+     * @param line The line, without its line terminator
+     * @param lineNumber The number of the line, for the failure message
+     * @return The fields of the line
+     * @throws IllegalArgumentException If a quote is not terminated
+     */
+    static List<String> parse(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                }
+                else if (c == '"') {
+                    quoted = false;
+                }
+                else {
+                    field.append(c);
+                }
+            }
+            else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            }
+            else if (c == ',') {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            }
+            else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote on line " + lineNumber);
+        }
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+
+    /**
+     * Quotes a field if it has a comma or a double quote.
+     *
+     * @param value The field
+     * @return The field as written in a line
+     */
+    static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
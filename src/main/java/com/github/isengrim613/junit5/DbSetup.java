@@ -14,4 +14,25 @@ import java.lang.annotation.Target;
 @Target({ ElementType.TYPE })
 @ExtendWith(DbSetupExtension.class)
 public @interface DbSetup {
+    /**
+     * Listeners that will receive the discovery and launch events of the annotated class and its {@code @Nested}
+     * classes.
+     *
+     * <p>These are in addition to the listeners found through {@link java.util.ServiceLoader}. See
+     * {@link DbSetupLaunchListener} for details.
+     *
+     * @return Listener classes to instantiate for the annotated class
+     */
+    Class<? extends DbSetupLaunchListener>[] listeners() default {};
+
+    /**
+     * Time budget of a launch on any {@link DbSetupSource} of the annotated class and its {@code @Nested} classes, in
+     * milliseconds.
+     *
+     * <p>A launch over budget is logged as a warning with the time of each operation, or fails the test if the
+     * {@code dbsetup.budget.mode} configuration parameter is {@code fail}. When negative, launches have no budget.
+     *
+     * @return The time budget of a launch
+     */
+    long budgetMillis() default -1;
 }
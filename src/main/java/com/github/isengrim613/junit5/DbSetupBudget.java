@@ -0,0 +1,245 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Checks every launch against the time budget of its fixture, and against the time of the same fixture in a
+ * baseline file.
+ *
+ * <p>The budget of a fixture is {@link DbSetupSource#budgetMillis()}, or else {@link DbSetup#budgetMillis()}. The
+ * baseline is a CSV report written with the {@value DbSetupReport#FILE_PARAMETER} configuration parameter and
+ * committed, set with the {@value #BASELINE_PARAMETER} configuration parameter. A launch slower than the
+ * {@code maxMillis} of its fixture in the baseline, times the {@value #TOLERANCE_PARAMETER} configuration parameter,
+ * is a regression.
+ *
+ * <p>A launch over budget or regressing is logged as a warning with the time of each operation, or fails the test if
+ * the {@value #MODE_PARAMETER} configuration parameter is {@code fail}.
+ *
+ * <p>One instance lives in the root {@link ExtensionContext.Store}, so the baseline is read once per engine run.
+ */
+class DbSetupBudget {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupBudget.class.getName());
+    private static final String DB_SETUP_BUDGET_KEY = "DB_SETUP_BUDGET";
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+
+    static final String MODE_PARAMETER = "dbsetup.budget.mode";
+    static final String BASELINE_PARAMETER = "dbsetup.budget.baseline";
+    static final String TOLERANCE_PARAMETER = "dbsetup.budget.tolerance";
+    static final double DEFAULT_TOLERANCE = 1.5;
+
+    private final boolean fail;
+    private final Map<String, Double> baselineMillis;
+    private final double tolerance;
+
+    DbSetupBudget(boolean fail, Map<String, Double> baselineMillis, double tolerance) {
+        this.fail = fail;
+        this.baselineMillis = baselineMillis;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Gets the budget checks of the current engine run, creating them in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The budget checks of the current engine run
+     */
+    static DbSetupBudget get(ExtensionContext context) {
+        ExtensionContext root = context.getRoot();
+        ExtensionContext.Store store = root.getStore(ExtensionContext.Namespace.create(DbSetupBudget.class));
+
+        return store.getOrComputeIfAbsent(DB_SETUP_BUDGET_KEY, key -> {
+            String mode = root.getConfigurationParameter(MODE_PARAMETER).orElse("log");
+            if (!mode.equals("log") && !mode.equals("fail")) {
+                throw new IllegalArgumentException("Unknown " + MODE_PARAMETER + ": " + mode);
+            }
+            Map<String, Double> baselineMillis = root.getConfigurationParameter(BASELINE_PARAMETER)
+                    .map(file -> readBaseline(Paths.get(file)))
+                    .orElse(Collections.emptyMap());
+            double tolerance = root.getConfigurationParameter(TOLERANCE_PARAMETER).map(Double::parseDouble)
+                    .orElse(DEFAULT_TOLERANCE);
+            return new DbSetupBudget(mode.equals("fail"), baselineMillis, tolerance);
+        }, DbSetupBudget.class);
+    }
+
+    /**
+     * Reads the {@code maxMillis} of every fixture of a CSV report.
+     */
+    static Map<String, Double> readBaseline(Path file) {
+        Map<String, Double> baselineMillis = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return baselineMillis;
+            }
+
+            List<String> columns = CsvLines.parse(header, 1);
+            int testClassIndex = columns.indexOf("testClass");
+            int sourceIndex = columns.indexOf("source");
+            int maxMillisIndex = columns.indexOf("maxMillis");
+            if (testClassIndex < 0 || sourceIndex < 0 || maxMillisIndex < 0) {
+                throw new IllegalArgumentException("Baseline " + file + " is not a CSV report");
+            }
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                List<String> fields = CsvLines.parse(line, lineNumber);
+                if (fields.size() != columns.size() || fields.get(sourceIndex) == null ||
+                        fields.get(maxMillisIndex) == null) {
+                    // the total line, or an empty one
+                    continue;
+                }
+                baselineMillis.put(key(fields.get(testClassIndex), fields.get(sourceIndex)),
+                        Double.parseDouble(fields.get(maxMillisIndex)));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Cannot read baseline " + file, e);
+        }
+
+        LOGGER.log(Level.FINE, "Read {0} fixtures from baseline {1}", new Object[] { baselineMillis.size(), file });
+        return baselineMillis;
+    }
+
+    private static String key(String testClass, String source) {
+        return testClass + '\u0000' + source;
+    }
+
+    /**
+     * Gets the budget of a fixture.
+     *
+     * @param testClass The test class declaring the fixture, or one of its {@code @Nested} classes
+     * @param source The annotation of the data source of the fixture
+     * @return The budget in milliseconds, or a negative value if there is none
+     */
+    static long getBudgetMillis(Class<?> testClass, DbSetupSource source) {
+        if (source.budgetMillis() >= 0) {
+            return source.budgetMillis();
+        }
+        for (Class<?> clazz = testClass; clazz != null; clazz = clazz.getDeclaringClass()) {
+            DbSetup dbSetup = clazz.getAnnotation(DbSetup.class);
+            if (dbSetup != null) {
+                return dbSetup.budgetMillis();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether a fixture has to be checked, which is when it has a budget or a baseline.
+     */
+    boolean isChecked(Class<?> testClass, String source, long budgetMillis) {
+        return budgetMillis >= 0 || baselineMillis.containsKey(key(testClass.getName(), source));
+    }
+
+    /**
+     * Wraps operations so that they record their execution time.
+     *
+     * @param operations The operations to time
+     * @param nanos Receives the execution time of each operation, at the same index
+     * @return The timed operations
+     */
+    static List<Operation> time(List<Operation> operations, long[] nanos) {
+        List<Operation> timedOperations = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            timedOperations.add(new TimedOperation(operations.get(i), nanos, i));
+        }
+        return timedOperations;
+    }
+
+    /**
+     * Checks a launch of a fixture.
+     *
+     * @param testClass The test class declaring the fixture
+     * @param source The name of the data source of the fixture
+     * @param budgetMillis The budget of the fixture, negative if there is none
+     * @param durationNanos The wall time of the launch
+     * @param operations The operations of the launch
+     * @param nanos The execution time of each operation
+     * @throws AssertionFailedError If the launch is over budget or regressing and the mode is {@code fail}
+     */
+    void check(Class<?> testClass, String source, long budgetMillis, long durationNanos, List<Operation> operations,
+               long[] nanos) {
+        Double baseline = baselineMillis.get(key(testClass.getName(), source));
+        double durationMillis = durationNanos / 1_000_000.0;
+
+        String problem;
+        if (budgetMillis >= 0 && durationMillis > budgetMillis) {
+            problem = "over its budget of " + budgetMillis + "ms";
+        }
+        else if (baseline != null && durationMillis > baseline * tolerance) {
+            problem = "over " + tolerance + " times its baseline of " + baseline + "ms";
+        }
+        else {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Launch of ").append(source).append(" for ")
+                .append(testClass.getName()).append(" took ").append(DbSetupReport.millis(durationNanos))
+                .append("ms, ").append(problem).append(':');
+        for (int i = 0; i < operations.size(); i++) {
+            String description = String.valueOf(operations.get(i));
+            if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                description = description.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+            }
+            message.append("\n  ").append(DbSetupReport.millis(nanos[i])).append("ms ").append(description);
+        }
+
+        if (fail) {
+            throw new AssertionFailedError(message.toString());
+        }
+        LOGGER.log(Level.WARNING, message.toString());
+    }
+
+    /**
+     * Records the execution time of an operation, described like the operation so that fixture caching still works.
+     */
+    private static class TimedOperation implements Operation {
+        private final Operation operation;
+        private final long[] nanos;
+        private final int index;
+
+        TimedOperation(Operation operation, long[] nanos, int index) {
+            this.operation = operation;
+            this.nanos = nanos;
+            this.index = index;
+        }
+
+        @Override
+        public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                operation.execute(connection, configuration);
+            }
+            finally {
+                nanos[index] += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return operation.toString();
+        }
+    }
+}
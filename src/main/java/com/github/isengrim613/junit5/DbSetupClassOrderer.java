@@ -0,0 +1,94 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.platform.commons.util.ReflectionUtils.isStatic;
+import static org.junit.platform.commons.util.ReflectionUtils.makeAccessible;
+
+/**
+ * A {@link ClassOrderer} that runs test classes with identical {@link DbSetupOperation}s and {@link DbSetupScript}s
+ * back to back.
+ *
+ * <p>The fingerprint of a class is, for every {@link DbSetupSource} name, its operations in launch order. A static
+ * operation is compared by value, so classes sharing a constant or an equal {@code Insert} match. An instance operation
+ * is compared by field, so classes inheriting the same field from a common base class match.
+ *
+ * <p>Classes are grouped by fingerprint, groups are run in the order of their first class by name, and classes are
+ * sorted by name within a group.
+ *
+ * <p>Grouping alone does not skip anything, since launches are tracked per test class by default. Setting the
+ * {@code dbsetup.tracker.scope} configuration parameter to {@code engine} shares the trackers across classes, so when
+ * the last test of a class is annotated with {@link DbSetupSkipNext}, the first test of the next class in the group
+ * does not launch again. This is only safe if the data sources are only modified by the test classes declaring them.
+ *
+ * <pre><code>
+ * junit.jupiter.testclass.order.default = com.github.isengrim613.junit5.DbSetupClassOrderer
+ * dbsetup.tracker.scope = engine
+ * </code></pre>
+ */
+public class DbSetupClassOrderer implements ClassOrderer {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupClassOrderer.class.getName());
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        List<ClassDescriptor> byName = new ArrayList<>(context.getClassDescriptors());
+        byName.sort(Comparator.comparing(descriptor -> descriptor.getTestClass().getName()));
+
+        Map<Object, Integer> groups = new HashMap<>();
+        Map<Class<?>, Integer> classGroups = new HashMap<>();
+        for (ClassDescriptor descriptor : byName) {
+            Class<?> testClass = descriptor.getTestClass();
+            Integer group = groups.computeIfAbsent(getFingerprint(testClass), fingerprint -> groups.size());
+            classGroups.put(testClass, group);
+        }
+
+        context.getClassDescriptors().sort(Comparator
+                .comparing((ClassDescriptor descriptor) -> classGroups.get(descriptor.getTestClass()))
+                .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+    }
+
+    static Object getFingerprint(Class<?> testClass) {
+        try {
+            Map<String, List<Object>> fingerprint = new TreeMap<>();
+            for (DbSetupExtension.OperationElement element : DbSetupExtension.findOperations(testClass)) {
+                Object operation = element.field != null ? getOperation(element.field) : element.script;
+                for (String source : element.sources) {
+                    fingerprint.computeIfAbsent(source, name -> new ArrayList<>()).add(operation);
+                }
+            }
+
+            return fingerprint;
+        }
+        catch (RuntimeException e) {
+            // the extension reports the actual error when the class runs, so just keep the class on its own
+            LOGGER.log(Level.FINE, "Cannot fingerprint " + testClass.getName(), e);
+            return testClass;
+        }
+    }
+
+    private static Object getOperation(Field field) {
+        if (!isStatic(field)) {
+            return field;
+        }
+
+        try {
+            Object operation = makeAccessible(field).get(null);
+            return operation == null ? field : operation;
+        }
+        catch (IllegalAccessException e) {
+            return field;
+        }
+    }
+}
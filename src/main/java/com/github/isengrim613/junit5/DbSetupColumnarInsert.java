@@ -0,0 +1,796 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * <p>An {@link Operation} inserting rows that are stored by column, in primitive arrays, instead of as a list of boxed
+ * values per row like {@link com.ninja_squad.dbsetup.operation.Insert}.
+ *
+ * <p>Columns are {@code int}, {@code long}, {@code double} or strings. Strings are dictionary encoded, every distinct
+ * value is stored once and rows only hold an {@code int} code. Nulls are kept in a bit set per column. A fixture of
+ * millions of cells then takes a few bytes per cell instead of an object per cell.
+ *
+ * <p>Rows are inserted with a single prepared statement in JDBC batches, binding values straight from the arrays with
+ * {@code setInt}, {@code setLong}, {@code setDouble} and {@code setString}. The {@link BinderConfiguration} is not used.
+ *
+ * <p>Rows can be built from code, a column at a time or a row at a time,
+ * <pre>
+ *     DbSetupColumnarInsert.into("person")
+ *             .intColumn("id", ids)
+ *             .stringColumn("name", names)
+ *             .build();
+ *
+ *     DbSetupColumnarInsert.into("person")
+ *             .intColumn("id")
+ *             .stringColumn("name")
+ *             .values(1, "Alice")
+ *             .values(2, "Bob")
+ *             .build();
+ * </pre>
+ *
+ * <p>or loaded from a CSV file, see {@link #fromCsv(String, Path)}.
+ */
+public final class DbSetupColumnarInsert implements Operation {
+    static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final String table;
+    private final List<Column> columns;
+    private final int rowCount;
+    private final int batchSize;
+    private final String valuesDigest;
+
+    private DbSetupColumnarInsert(String table, List<Column> columns, int rowCount, int batchSize) {
+        this.table = table;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.batchSize = batchSize;
+        this.valuesDigest = digest(columns);
+    }
+
+    /**
+     * Starts building an insert into a table.
+     *
+     * @param table The name of the table
+     * @return A builder without columns
+     */
+    public static Builder into(String table) {
+        return new Builder(table);
+    }
+
+    /**
+     * Loads an insert into a table from a CSV file in UTF-8.
+     *
+     * @param table The name of the table
+     * @param file The CSV file
+     * @return The insert of every row of the file
+     * @throws IOException If the file cannot be read
+     * @see #fromCsv(String, Reader)
+     */
+    public static DbSetupColumnarInsert fromCsv(String table, Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return fromCsv(table, reader);
+        }
+    }
+
+    /**
+     * Loads an insert into a table from CSV.
+     *
+     * <p>The first line is the header, with a {@code name:type} entry per column where the type is one of {@code int},
+     * {@code long}, {@code double} or {@code string}. A column without a type is a string column. Fields are separated
+     * by commas and can be quoted with double quotes, a double quote inside a quoted field is written twice. An empty
+     * unquoted field is null, an empty quoted field is an empty string.
+     * <pre>
+     *     id:int,name,salary:double
+     *     1,Alice,1000.5
+     *     2,"Bob, Jr.",
+     * </pre>
+     *
+     * @param table The name of the table
+     * @param reader The CSV
+     * @return The insert of every row of the CSV
+     * @throws IOException If the CSV cannot be read
+     */
+    public static DbSetupColumnarInsert fromCsv(String table, Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+
+        String header = lines.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV of " + table + " has no header");
+        }
+
+        Builder builder = into(table);
+        for (String entry : CsvLines.parse(header, 1)) {
+            if (entry == null) {
+                throw new IllegalArgumentException("CSV of " + table + " has an empty column name");
+            }
+            int separator = entry.lastIndexOf(':');
+            String name = separator < 0 ? entry : entry.substring(0, separator);
+            String type = separator < 0 ? "string" : entry.substring(separator + 1);
+            switch (type) {
+                case "int":
+                    builder.intColumn(name);
+                    break;
+                case "long":
+                    builder.longColumn(name);
+                    break;
+                case "double":
+                    builder.doubleColumn(name);
+                    break;
+                case "string":
+                    builder.stringColumn(name);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown type " + type + " of column " + name + " in CSV of " +
+                            table);
+            }
+        }
+
+        String line;
+        int lineNumber = 1;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            List<String> fields = CsvLines.parse(line, lineNumber);
+            if (fields.size() != builder.columns.size()) {
+                throw new IllegalArgumentException("Line " + lineNumber + " of CSV of " + table + " has " +
+                        fields.size() + " fields instead of " + builder.columns.size());
+            }
+
+            for (int i = 0; i < fields.size(); i++) {
+                builder.columns.get(i).parse(fields.get(i));
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        String sql = columns.stream().map(column -> column.name).collect(Collectors.joining(", ",
+                "insert into " + table + " (", ")")) +
+                columns.stream().map(column -> "?").collect(Collectors.joining(", ", " values (", ")"));
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < rowCount; row++) {
+                for (int i = 0; i < columns.size(); i++) {
+                    columns.get(i).bind(statement, i + 1, row);
+                }
+                statement.addBatch();
+
+                if ((row + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+
+            if (rowCount % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows this operation inserts.
+     *
+     * @return The number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DbSetupColumnarInsert that = (DbSetupColumnarInsert) o;
+        return rowCount == that.rowCount && batchSize == that.batchSize && table.equals(that.table) &&
+                columns.equals(that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, columns, rowCount, batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The values are summarized by their SHA-256 digest, computed once when the insert is built and the same in
+     * every JVM, so that the fixture cache, which is keyed on the description, tells inserts with different values
+     * apart.
+     */
+    @Override
+    public String toString() {
+        return "DbSetupColumnarInsert [table=" + table + ", columns=" +
+                columns.stream().map(column -> column.name).collect(Collectors.toList()) + ", rows=" + rowCount +
+                ", valuesDigest=" + valuesDigest + "]";
+    }
+
+    private static String digest(List<Column> columns) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // the stream only feeds the digest, it cannot fail
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DigestOutputStream(
+                new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                    }
+                }, digest)))) {
+            for (Column column : columns) {
+                column.digest(out);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Builds a {@link DbSetupColumnarInsert}, see {@link DbSetupColumnarInsert#into(String)}.
+     */
+    public static final class Builder {
+        private final String table;
+        private final List<Column> columns = new ArrayList<>();
+        private final Map<String, Column> columnsByName = new LinkedHashMap<>();
+        private int rowCount;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private boolean built;
+
+        private Builder(String table) {
+            this.table = table;
+        }
+
+        /**
+         * Adds an {@code int} column.
+         *
+         * @param name The name of the column
+         * @param values The values of the column, or none to append them with {@link #values(Object...)}
+         * @return This builder
+         */
+        public Builder intColumn(String name, int... values) {
+            return add(new IntColumn(name, values));
+        }
+
+        /**
+         * Adds a {@code long} column.
+         *
+         * @param name The name of the column
+         * @param values The values of the column, or none to append them with {@link #values(Object...)}
+         * @return This builder
+         */
+        public Builder longColumn(String name, long... values) {
+            return add(new LongColumn(name, values));
+        }
+
+        /**
+         * Adds a {@code double} column.
+         *
+         * @param name The name of the column
+         * @param values The values of the column, or none to append them with {@link #values(Object...)}
+         * @return This builder
+         */
+        public Builder doubleColumn(String name, double... values) {
+            return add(new DoubleColumn(name, values));
+        }
+
+        /**
+         * Adds a dictionary encoded string column.
+         *
+         * @param name The name of the column
+         * @param values The values of the column, or none to append them with {@link #values(Object...)}
+         * @return This builder
+         */
+        public Builder stringColumn(String name, String... values) {
+            StringColumn column = new StringColumn(name);
+            for (String value : values) {
+                column.append(value);
+            }
+            return add(column);
+        }
+
+        /**
+         * Appends a row, with a value for every column in declaration order. A value can be null.
+         *
+         * @param values The values of the row
+         * @return This builder
+         */
+        public Builder values(Object... values) {
+            if (values.length != columns.size()) {
+                throw new IllegalArgumentException("Row of " + table + " has " + values.length + " values instead of " +
+                        columns.size());
+            }
+
+            checkNotBuilt();
+            checkRowCount();
+            for (int i = 0; i < values.length; i++) {
+                columns.get(i).append(values[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the number of rows per JDBC batch.
+         *
+         * @param batchSize The number of rows per batch, {@value DbSetupColumnarInsert#DEFAULT_BATCH_SIZE} by default
+         * @return This builder
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Builds the insert. The builder cannot be used afterwards.
+         *
+         * @return The insert
+         */
+        public DbSetupColumnarInsert build() {
+            checkNotBuilt();
+            checkRowCount();
+            for (Column column : columns) {
+                column.trim();
+            }
+            built = true;
+            return new DbSetupColumnarInsert(table, new ArrayList<>(columns), rowCount, batchSize);
+        }
+
+        private Builder add(Column column) {
+            checkNotBuilt();
+            if (columnsByName.put(column.name, column) != null) {
+                throw new IllegalArgumentException("Column " + column.name + " of " + table + " is declared twice");
+            }
+            columns.add(column);
+            return this;
+        }
+
+        private void checkNotBuilt() {
+            // the built insert shares the columns, so it would change too
+            if (built) {
+                throw new IllegalStateException("Insert into " + table + " is already built");
+            }
+        }
+
+        private void checkRowCount() {
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("Insert into " + table + " has no columns");
+            }
+
+            int size = columns.get(0).size;
+            for (Column column : columns) {
+                if (column.size != size) {
+                    throw new IllegalArgumentException("Column " + column.name + " of " + table + " has " +
+                            column.size + " values instead of " + size);
+                }
+            }
+            rowCount = size;
+        }
+    }
+
+    private abstract static class Column {
+        final String name;
+        final BitSet nulls = new BitSet();
+        int size;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        void append(Object value) {
+            if (value == null) {
+                nulls.set(size);
+                grow();
+            }
+            else {
+                appendValue(value);
+            }
+            size++;
+        }
+
+        void parse(String value) {
+            append(value == null ? null : parseValue(value.trim()));
+        }
+
+        void bind(PreparedStatement statement, int index, int row) throws SQLException {
+            if (nulls.get(row)) {
+                statement.setNull(index, sqlType());
+            }
+            else {
+                bindValue(statement, index, row);
+            }
+        }
+
+        abstract void appendValue(Object value);
+
+        abstract Object parseValue(String value);
+
+        abstract void grow();
+
+        abstract void trim();
+
+        abstract int sqlType();
+
+        abstract void bindValue(PreparedStatement statement, int index, int row) throws SQLException;
+
+        static int grown(int length) {
+            return Math.max(16, length + (length >> 1));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Column that = (Column) o;
+            return size == that.size && name.equals(that.name) && nulls.equals(that.nulls) && valuesEqual(that);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * name.hashCode() + nulls.hashCode()) + valuesHashCode();
+        }
+
+        abstract boolean valuesEqual(Column that);
+
+        abstract int valuesHashCode();
+
+        /**
+         * Writes the name, type, nulls and values of the column, so that columns that are not equal are written
+         * differently.
+         */
+        void digest(DataOutputStream out) throws IOException {
+            out.writeUTF(name);
+            out.writeUTF(getClass().getSimpleName());
+            out.writeInt(size);
+            long[] words = nulls.toLongArray();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+            digestValues(out);
+        }
+
+        abstract void digestValues(DataOutputStream out) throws IOException;
+    }
+
+    private static class IntColumn extends Column {
+        private int[] values;
+
+        IntColumn(String name, int[] values) {
+            super(name);
+            this.values = values.clone();
+            this.size = values.length;
+        }
+
+        @Override
+        void appendValue(Object value) {
+            grow();
+            values[size] = ((Number) value).intValue();
+        }
+
+        @Override
+        Object parseValue(String value) {
+            return Integer.parseInt(value);
+        }
+
+        @Override
+        void grow() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grown(values.length));
+            }
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        int sqlType() {
+            return Types.INTEGER;
+        }
+
+        @Override
+        void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+            statement.setInt(index, values[row]);
+        }
+
+        @Override
+        boolean valuesEqual(Column that) {
+            return Arrays.equals(values, ((IntColumn) that).values);
+        }
+
+        @Override
+        int valuesHashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        void digestValues(DataOutputStream out) throws IOException {
+            for (int row = 0; row < size; row++) {
+                out.writeInt(values[row]);
+            }
+        }
+    }
+
+    private static class LongColumn extends Column {
+        private long[] values;
+
+        LongColumn(String name, long[] values) {
+            super(name);
+            this.values = values.clone();
+            this.size = values.length;
+        }
+
+        @Override
+        void appendValue(Object value) {
+            grow();
+            values[size] = ((Number) value).longValue();
+        }
+
+        @Override
+        Object parseValue(String value) {
+            return Long.parseLong(value);
+        }
+
+        @Override
+        void grow() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grown(values.length));
+            }
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        int sqlType() {
+            return Types.BIGINT;
+        }
+
+        @Override
+        void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+            statement.setLong(index, values[row]);
+        }
+
+        @Override
+        boolean valuesEqual(Column that) {
+            return Arrays.equals(values, ((LongColumn) that).values);
+        }
+
+        @Override
+        int valuesHashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        void digestValues(DataOutputStream out) throws IOException {
+            for (int row = 0; row < size; row++) {
+                out.writeLong(values[row]);
+            }
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        private double[] values;
+
+        DoubleColumn(String name, double[] values) {
+            super(name);
+            this.values = values.clone();
+            this.size = values.length;
+        }
+
+        @Override
+        void appendValue(Object value) {
+            grow();
+            values[size] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        Object parseValue(String value) {
+            return Double.parseDouble(value);
+        }
+
+        @Override
+        void grow() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grown(values.length));
+            }
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        int sqlType() {
+            return Types.DOUBLE;
+        }
+
+        @Override
+        void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+            statement.setDouble(index, values[row]);
+        }
+
+        @Override
+        boolean valuesEqual(Column that) {
+            return Arrays.equals(values, ((DoubleColumn) that).values);
+        }
+
+        @Override
+        int valuesHashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        void digestValues(DataOutputStream out) throws IOException {
+            for (int row = 0; row < size; row++) {
+                out.writeLong(Double.doubleToLongBits(values[row]));
+            }
+        }
+    }
+
+    /**
+     * Stores a code per row into a dictionary of the distinct values.
+     */
+    private static class StringColumn extends Column {
+        private int[] codes = new int[0];
+        private String[] dictionary = new String[0];
+        private Map<String, Integer> codesByValue = new HashMap<>();
+
+        StringColumn(String name) {
+            super(name);
+        }
+
+        @Override
+        void appendValue(Object value) {
+            grow();
+            String string = value.toString();
+            Integer code = codesByValue.get(string);
+            if (code == null) {
+                code = codesByValue.size();
+                codesByValue.put(string, code);
+                if (code == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, Math.max(16, dictionary.length * 2));
+                }
+                dictionary[code] = string;
+            }
+            codes[size] = code;
+        }
+
+        @Override
+        Object parseValue(String value) {
+            return value;
+        }
+
+        @Override
+        void parse(String value) {
+            // strings are not trimmed, the quotes already delimit them
+            append(value);
+        }
+
+        @Override
+        void grow() {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, grown(codes.length));
+            }
+        }
+
+        @Override
+        void trim() {
+            codes = Arrays.copyOf(codes, size);
+            dictionary = Arrays.copyOf(dictionary, codesByValue.size());
+            codesByValue = null;
+        }
+
+        @Override
+        int sqlType() {
+            return Types.VARCHAR;
+        }
+
+        @Override
+        void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+            statement.setString(index, dictionary[codes[row]]);
+        }
+
+        private String get(int row) {
+            return nulls.get(row) ? null : dictionary[codes[row]];
+        }
+
+        @Override
+        boolean valuesEqual(Column that) {
+            StringColumn other = (StringColumn) that;
+            for (int row = 0; row < size; row++) {
+                if (!Objects.equals(get(row), other.get(row))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int valuesHashCode() {
+            int hashCode = 1;
+            for (int row = 0; row < size; row++) {
+                hashCode = 31 * hashCode + Objects.hashCode(get(row));
+            }
+            return hashCode;
+        }
+
+        @Override
+        void digestValues(DataOutputStream out) throws IOException {
+            // the values of the rows, not the codes, which depend on the order the values were added in
+            byte[][] encoded = new byte[dictionary.length][];
+            for (int code = 0; code < dictionary.length; code++) {
+                encoded[code] = dictionary[code].getBytes(StandardCharsets.UTF_8);
+            }
+            for (int row = 0; row < size; row++) {
+                if (nulls.get(row)) {
+                    out.writeInt(-1);
+                }
+                else {
+                    out.writeInt(encoded[codes[row]].length);
+                    out.write(encoded[codes[row]]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.isengrim613.junit5;
+
+/**
+ * Event of the discovery of the annotated fields of a test instance.
+ *
+ * @see DbSetupLaunchListener
+ */
+public final class DbSetupDiscoveryEvent {
+    private final Class<?> testClass;
+    private final int dataSourceCount;
+    private final int operationCount;
+    private final long durationNanos;
+
+    DbSetupDiscoveryEvent(Class<?> testClass, int dataSourceCount, int operationCount, long durationNanos) {
+        this.testClass = testClass;
+        this.dataSourceCount = dataSourceCount;
+        this.operationCount = operationCount;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return The test class being discovered
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * @return The number of {@link DbSetupSource}s found, 0 before discovery
+     */
+    public int getDataSourceCount() {
+        return dataSourceCount;
+    }
+
+    /**
+     * @return The number of {@link DbSetupOperation}s found, 0 before discovery
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * @return The wall time of the discovery in nanoseconds, 0 before discovery
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "DbSetupDiscoveryEvent [testClass=" + testClass.getName() + ", dataSourceCount=" + dataSourceCount +
+                ", operationCount=" + operationCount + ", durationNanos=" + durationNanos + "]";
+    }
+}
@@ -0,0 +1,402 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.platform.commons.util.AnnotationUtils.isAnnotated;
+import static org.junit.platform.commons.util.ReflectionUtils.isStatic;
+
+/**
+ * <p>Explains the fixtures of the test classes instead of launching them, when the {@value #EXPLAIN_PARAMETER}
+ * configuration parameter, or system property, is {@code true}.
+ *
+ * <p>The test classes annotated with {@link DbSetup} are disabled, and their operations, and those of their
+ * {@code @Nested} classes, are gathered the same way as for a launch. Every operation is then executed against a
+ * connection that records the statements it is given without ever touching a database, to estimate its target tables,
+ * rows, statements, batches and round trips. Rows are only counted for prepared statements and batches, the rows of
+ * plain SQL cannot be known without a database. Test classes with operations in instance fields are instantiated with
+ * their constructor, which therefore must not need the database either.
+ *
+ * <p>One instance lives in the root {@link ExtensionContext.Store} and is closed by JUnit when the engine finishes. On
+ * close, the plans of every test class and {@link DbSetupSource}, most round trips first, and the operations launched
+ * by more than one test class, or more than once by the same one, are logged or, if the {@value #FILE_PARAMETER}
+ * configuration parameter is set, written to that file.
+ */
+class DbSetupExplainer implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupExplainer.class.getName());
+    private static final String DB_SETUP_EXPLAINER_KEY = "DB_SETUP_EXPLAINER";
+    private static final Pattern TABLE_PATTERN = Pattern.compile(
+            "^\\s*(?:insert\\s+into|delete\\s+from|update|truncate\\s+table|merge\\s+into)\\s+([\\w.\"`\\[\\]]+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+
+    static final String EXPLAIN_PARAMETER = "dbsetup.explain";
+    static final String FILE_PARAMETER = "dbsetup.explain.file";
+
+    private final Path file;
+    private final Set<Class<?>> explainedClasses = new LinkedHashSet<>();
+    private final List<FixturePlan> plans = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+    private final Map<Operation, List<String>> launchers = new LinkedHashMap<>();
+
+    DbSetupExplainer(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the explainer of the current engine run, creating it in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The explainer, or null if the {@value #EXPLAIN_PARAMETER} configuration parameter is not {@code true}
+     */
+    static DbSetupExplainer get(ExtensionContext context) {
+        if (!context.getConfigurationParameter(EXPLAIN_PARAMETER).map(Boolean::parseBoolean).orElse(false)) {
+            return null;
+        }
+
+        ExtensionContext root = context.getRoot();
+        ExtensionContext.Store store = root.getStore(ExtensionContext.Namespace.create(DbSetupExplainer.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_EXPLAINER_KEY,
+                key -> new DbSetupExplainer(root.getConfigurationParameter(FILE_PARAMETER).map(Paths::get).orElse(null)),
+                DbSetupExplainer.class);
+    }
+
+    /**
+     * Explains the fixtures of a test class and of its {@code @Nested} classes, once per class.
+     *
+     * <p>A class that cannot be explained, because its annotations are invalid or it cannot be instantiated, is
+     * recorded as such instead of failing.
+     */
+    synchronized void explain(Class<?> testClass) {
+        if (!explainedClasses.add(testClass)) {
+            return;
+        }
+
+        try {
+            explainClass(testClass);
+        }
+        catch (Exception e) {
+            LOGGER.log(Level.FINE, "Cannot explain " + testClass.getName(), e);
+            failures.add(testClass.getName() + ": " + e);
+        }
+
+        for (Class<?> nestedClass : testClass.getDeclaredClasses()) {
+            if (isAnnotated(nestedClass, Nested.class)) {
+                explain(nestedClass);
+            }
+        }
+    }
+
+    private void explainClass(Class<?> testClass) throws Exception {
+        if (DbSetupExtension.findAnnotatedFieldsInHierarchy(testClass, DbSetupSource.class).isEmpty()) {
+            // an outer class only holding @Nested classes
+            LOGGER.log(Level.FINE, "No @DbSetupSource to explain in {0}", testClass.getName());
+            return;
+        }
+
+        Map<String, Field> dataSourceFields = DbSetupExtension.findDataSourceFields(testClass);
+        List<DbSetupExtension.OperationElement> elements = DbSetupExtension.findOperations(testClass);
+
+        boolean instanceNeeded = elements.stream().anyMatch(element -> element.field != null && !isStatic(element.field));
+        Object testInstance = instanceNeeded ? instantiate(testClass) : null;
+
+        for (String source : new TreeSet<>(dataSourceFields.keySet())) {
+            FixturePlan plan = new FixturePlan(testClass.getName(), source);
+            for (DbSetupExtension.OperationElement element : elements) {
+                if (!Arrays.asList(element.sources).contains(source)) {
+                    continue;
+                }
+
+                Operation operation = element.get(testInstance);
+                if (operation == null) {
+                    throw new IllegalArgumentException("@DbSetupOperation is null: " + element.field.getName());
+                }
+                plan.add(element, operation, plan(operation));
+                launchers.computeIfAbsent(operation, key -> new ArrayList<>()).add(plan.toString());
+            }
+
+            if (!plan.operations.isEmpty()) {
+                // the launch commits once
+                plan.total.transactionEnded();
+                plans.add(plan);
+            }
+        }
+    }
+
+    private static Object instantiate(Class<?> testClass) {
+        Constructor<?> constructor = ReflectionUtils.getDeclaredConstructor(testClass);
+        if (ReflectionUtils.isInnerClass(testClass)) {
+            return ReflectionUtils.newInstance(constructor, instantiate(testClass.getEnclosingClass()));
+        }
+        return ReflectionUtils.newInstance(constructor);
+    }
+
+    /**
+     * Executes an operation against a recording connection.
+     *
+     * @param operation The operation to explain
+     * @return The tables and JDBC counters of the operation
+     * @throws Exception If the operation fails, even without a database
+     */
+    static OperationPlan plan(Operation operation) throws Exception {
+        OperationPlan plan = new OperationPlan();
+        DataSource dataSource = proxy(DataSource.class, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return proxy(Connection.class, new RecordingHandler(plan.tables));
+            }
+            return DbSetupPrewarmer.defaultValue(method.getReturnType());
+        });
+
+        try (Connection connection = new CountingDestination(dataSource, plan.statistics).getConnection()) {
+            operation.execute(connection, DefaultBinderConfiguration.INSTANCE);
+        }
+        return plan;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Writes the plans when the engine finishes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        String explanation = render();
+        if (file == null) {
+            LOGGER.log(Level.INFO, explanation);
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(explanation);
+        }
+    }
+
+    synchronized String render() {
+        List<FixturePlan> sorted = new ArrayList<>(plans);
+        sorted.sort(Comparator.comparingLong((FixturePlan plan) -> plan.total.getRoundTrips()).reversed());
+
+        StringBuilder builder = new StringBuilder("DbSetup explain: ").append(sorted.size()).append(" fixtures in ")
+                .append(explainedClasses.size()).append(" classes\n");
+        for (FixturePlan plan : sorted) {
+            builder.append('\n').append(plan).append(": ").append(plan.operations.size()).append(" operations, ")
+                    .append(describe(plan.tables, plan.total)).append('\n');
+            for (int i = 0; i < plan.operations.size(); i++) {
+                OperationPlan operation = plan.operations.get(i);
+                builder.append("  ").append(i + 1).append(". ").append(plan.descriptions.get(i)).append("\n     ")
+                        .append(describe(operation.tables, operation.statistics)).append('\n');
+            }
+        }
+
+        boolean duplicated = false;
+        for (Map.Entry<Operation, List<String>> entry : launchers.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                if (!duplicated) {
+                    builder.append("\nOperations launched by more than one fixture, or more than once by the same:\n");
+                    duplicated = true;
+                }
+                builder.append("  ").append(truncate(String.valueOf(entry.getKey()))).append("\n     ")
+                        .append(entry.getValue().size()).append(" times by ").append(entry.getValue()).append('\n');
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            builder.append("\nClasses that cannot be explained:\n");
+            for (String failure : failures) {
+                builder.append("  ").append(failure).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String describe(Set<String> tables, DbSetupJdbcStatistics statistics) {
+        return "tables " + tables + ", " + statistics.getRowsAffected() + " rows, " +
+                statistics.getStatementsExecuted() + " statements, " + statistics.getBatches() + " batches, ~" +
+                statistics.getRoundTrips() + " round trips";
+    }
+
+    private static String truncate(String description) {
+        return description.length() > MAX_DESCRIPTION_LENGTH ?
+                description.substring(0, MAX_DESCRIPTION_LENGTH) + "..." : description;
+    }
+
+    private static void recordTable(Set<String> tables, Object sql) {
+        if (sql instanceof String) {
+            Matcher matcher = TABLE_PATTERN.matcher((String) sql);
+            if (matcher.find()) {
+                tables.add(matcher.group(1));
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(DbSetupExplainer.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * The tables and JDBC counters of an operation.
+     */
+    static class OperationPlan {
+        final Set<String> tables = new LinkedHashSet<>();
+        final DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+    }
+
+    private static class FixturePlan {
+        private final String testClass;
+        private final String source;
+        private final List<OperationPlan> operations = new ArrayList<>();
+        private final List<String> descriptions = new ArrayList<>();
+        private final Set<String> tables = new LinkedHashSet<>();
+        private final DbSetupJdbcStatistics total = new DbSetupJdbcStatistics();
+
+        FixturePlan(String testClass, String source) {
+            this.testClass = testClass;
+            this.source = source;
+        }
+
+        void add(DbSetupExtension.OperationElement element, Operation operation, OperationPlan plan) {
+            String groups = element.groups.length == 0 ? "" : " groups " + Arrays.toString(element.groups);
+            descriptions.add("order " + element.order + groups + ": " + truncate(String.valueOf(operation)));
+            operations.add(plan);
+            tables.addAll(plan.tables);
+            total.add(plan.statistics);
+        }
+
+        @Override
+        public String toString() {
+            return testClass + " [" + source + "]";
+        }
+    }
+
+    /**
+     * A connection recording the tables of its statements. Prepared statements affect a row per execution and per
+     * batch entry, plain SQL an unknown number of rows.
+     */
+    private static class RecordingHandler implements InvocationHandler {
+        private final Set<String> tables;
+
+        RecordingHandler(Set<String> tables) {
+            this.tables = tables;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    recordTable(tables, args[0]);
+                    return proxy(PreparedStatement.class, new RecordingStatementHandler(tables, true));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new RecordingStatementHandler(tables, true));
+                case "createStatement":
+                    return proxy(Statement.class, new RecordingStatementHandler(tables, false));
+                case "getMetaData":
+                    return proxy(DatabaseMetaData.class, (metaData, metaDataMethod, metaDataArgs) ->
+                            DbSetupPrewarmer.defaultValue(metaDataMethod.getReturnType()));
+                case "getAutoCommit":
+                    return true;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Explain connection";
+                default:
+                    return DbSetupPrewarmer.defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    private static class RecordingStatementHandler implements InvocationHandler {
+        private final Set<String> tables;
+        private final boolean prepared;
+        private int batched;
+
+        RecordingStatementHandler(Set<String> tables, boolean prepared) {
+            this.tables = tables;
+            this.prepared = prepared;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "addBatch":
+                    if (args != null) {
+                        recordTable(tables, args[0]);
+                    }
+                    batched++;
+                    return null;
+                case "clearBatch":
+                    batched = 0;
+                    return null;
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    long[] counts = new long[batched];
+                    Arrays.fill(counts, prepared ? 1 : Statement.SUCCESS_NO_INFO);
+                    batched = 0;
+                    return method.getReturnType() == long[].class ? counts :
+                            Arrays.stream(counts).mapToInt(count -> (int) count).toArray();
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    if (args != null) {
+                        recordTable(tables, args[0]);
+                    }
+                    int rows = prepared ? 1 : 0;
+                    return method.getReturnType() == long.class ? (Object) (long) rows : (Object) rows;
+                case "execute":
+                    if (args != null) {
+                        recordTable(tables, args[0]);
+                    }
+                    return false;
+                case "getUpdateCount":
+                    return prepared ? 1 : 0;
+                case "executeQuery":
+                    return proxy(ResultSet.class, (resultSet, resultSetMethod, resultSetArgs) ->
+                            DbSetupPrewarmer.defaultValue(resultSetMethod.getReturnType()));
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return DbSetupPrewarmer.defaultValue(method.getReturnType());
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.github.isengrim613.junit5;
 
 import com.ninja_squad.dbsetup.DbSetup;
-import com.ninja_squad.dbsetup.DbSetupTracker;
 import com.ninja_squad.dbsetup.bind.BinderConfiguration;
 import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
 import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.destination.Destination;
 import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
 import org.junit.platform.commons.util.ExceptionUtils;
@@ -14,14 +20,26 @@ import org.junit.platform.commons.util.ReflectionUtils;
 
 import javax.sql.DataSource;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.ninja_squad.dbsetup.Operations.sequenceOf;
 import static org.junit.platform.commons.util.AnnotationUtils.findAnnotatedFields;
+import static org.junit.platform.commons.util.AnnotationUtils.findAnnotation;
+import static org.junit.platform.commons.util.AnnotationUtils.findRepeatableAnnotations;
 import static org.junit.platform.commons.util.AnnotationUtils.isAnnotated;
 import static org.junit.platform.commons.util.ReflectionUtils.isStatic;
 import static org.junit.platform.commons.util.ReflectionUtils.makeAccessible;
@@ -29,21 +47,39 @@ import static org.junit.platform.commons.util.ReflectionUtils.makeAccessible;
 /**
  * The main processor for the extension.
  *
+ * @see #evaluateExecutionCondition(ExtensionContext)
  * @see #postProcessTestInstance(Object, ExtensionContext)
  * @see #beforeEach(ExtensionContext)
+ * @see #afterEach(ExtensionContext)
+ * @see #afterAll(ExtensionContext)
  *
  * @see com.github.isengrim613.junit5.DbSetup
  * @see DbSetupSource
  * @see DbSetupOperation
  * @see DbSetupSkipNext
+ * @see DbSetupInvocations
+ * @see DbSetupGroups
+ * @see DbSetupScript
+ * @see DbSetupTeardown
+ * @see DbSetupLaunchListener
  */
-public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCallback {
+public class DbSetupExtension implements ExecutionCondition, TestInstancePostProcessor, BeforeEachCallback,
+        AfterEachCallback, AfterAllCallback {
     private static final Logger LOGGER = Logger.getLogger(DbSetupExtension.class.getName());
     private static final String DB_SETUP_HOLDERS_KEY = "DB_SETUP_HOLDERS";
+    private static final String DB_SETUP_TRACKERS_KEY = "DB_SETUP_TRACKERS";
+    private static final String DB_SETUP_TEMPLATE_LAUNCHED_KEY = "DB_SETUP_TEMPLATE_LAUNCHED";
+    private static final String DB_SETUP_TEMPLATE_TEARDOWN_KEY = "DB_SETUP_TEMPLATE_TEARDOWN";
+    private static final String DB_SETUP_LOCKS_KEY = "DB_SETUP_LOCKS";
+    private static final String DB_SETUP_PREWARMED_KEY = "DB_SETUP_PREWARMED";
+    private static final String DB_SETUP_PLANS_KEY = "DB_SETUP_PLANS";
+    static final String JDBC_STATISTICS_PARAMETER = "dbsetup.jdbc.statistics";
+    static final String OPTIMIZE_PARAMETER = "dbsetup.optimize";
+    static final String TRACKER_SCOPE_PARAMETER = "dbsetup.tracker.scope";
 
-    private static void validateDataSourceExists(Map<String, Field> dataSourceFields, Map<Field, String[]> fields) {
+    private static void validateDataSourceExists(Map<String, Field> dataSourceFields, Collection<String[]> sources) {
         Set<String> dataSourceSet = new HashSet<>();
-        for (String[] dataSources : fields.values()) {
+        for (String[] dataSources : sources) {
             dataSourceSet.addAll(Arrays.asList(dataSources));
         }
 
@@ -54,31 +90,118 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
         }
     }
 
+    private static void validateImmutable(String dataSourceName, List<OperationElement> operations,
+                                          List<Field> teardownFields) {
+        for (OperationElement operation : operations) {
+            if (operation.groups.length > 0) {
+                throw new IllegalArgumentException("Operations of immutable @DbSetupSource " + dataSourceName +
+                        " cannot have groups");
+            }
+        }
+
+        if (!teardownFields.isEmpty()) {
+            throw new IllegalArgumentException("Immutable @DbSetupSource " + dataSourceName + " cannot have teardowns");
+        }
+    }
+
+    private static void validateGroupsExist(Class<?> testClass, List<OperationElement> operations) {
+        Set<String> groupSet = new HashSet<>();
+        for (OperationElement operation : operations) {
+            groupSet.addAll(Arrays.asList(operation.groups));
+        }
+
+        List<Method> methods = ReflectionUtils.findMethods(testClass, method -> isAnnotated(method, DbSetupGroups.class));
+        for (Method method : methods) {
+            for (String group : method.getAnnotation(DbSetupGroups.class).value()) {
+                if (!groupSet.contains(group)) {
+                    throw new IllegalArgumentException("This group does not exist: " + group);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the {@value DbSetupExplainer#EXPLAIN_PARAMETER} configuration parameter is {@code true}, this method
+     * explains the fixtures of the test class and its {@code @Nested} classes, and disables the test class so that
+     * nothing is launched, see {@link DbSetupExplainer}.
+     */
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        DbSetupExplainer explainer = DbSetupExplainer.get(context);
+        if (explainer == null) {
+            return ConditionEvaluationResult.enabled("Not explaining");
+        }
+        if (context.getTestMethod().isPresent() || !context.getTestClass().isPresent()) {
+            // the test class is disabled already
+            return ConditionEvaluationResult.enabled("Explaining test classes only");
+        }
+
+        explainer.explain(context.getRequiredTestClass());
+        return ConditionEvaluationResult.disabled("Explained because " + DbSetupExplainer.EXPLAIN_PARAMETER +
+                " is true");
+    }
+
     /**
      * {@inheritDoc}
      *
-     * <p>This method gathers and sorts the {@link DbSetupSource} and {@link DbSetupOperation}s for each test instance.
+     * <p>This method gathers and sorts the {@link DbSetupSource}, {@link DbSetupOperation}s, {@link DbSetupScript}s
+     * and {@link DbSetupTeardown}s for each test instance.
+     *
+     * <p>If the {@value DbSetupPipeline#PIPELINE_PARAMETER} configuration parameter is {@code true}, this method also
+     * starts launching the operations without groups in the background, and the next test only waits for the launch,
+     * see {@link DbSetupPipeline}.
      */
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws Exception {
-        Map<String, Field> dataSourceFields = findDataSourceFields(context);
+        Class<?> testClass = context.getRequiredTestClass();
+        DbSetupLaunchListeners listeners = DbSetupLaunchListeners.get(context);
+        listeners.beforeDiscovery(new DbSetupDiscoveryEvent(testClass, 0, 0, 0));
+        long start = System.nanoTime();
+
+        Map<String, Field> dataSourceFields = findDataSourceFields(testClass);
+        injectManagedDataSources(dataSourceFields, testInstance, context);
+        injectReadOnlyDataSources(dataSourceFields, testInstance, context);
         Map<Field, String[]> binderConfigurationFields = findBinderConfigurationFields(context);
-        LinkedHashMap<Field, String[]> operationFields = findOperationFields(context);
+        List<OperationElement> operations = findOperations(testClass);
+        List<Field> teardownFields = findTeardownFields(testClass);
 
         // make sure all binder configuration data sources exists
-        validateDataSourceExists(dataSourceFields, binderConfigurationFields);
+        validateDataSourceExists(dataSourceFields, binderConfigurationFields.values());
 
         // make sure all operation's data sources exists
-        validateDataSourceExists(dataSourceFields, operationFields);
+        validateDataSourceExists(dataSourceFields,
+                operations.stream().map(operation -> operation.sources).collect(Collectors.toList()));
+
+        // make sure all teardown's data sources exists
+        validateDataSourceExists(dataSourceFields, teardownFields.stream()
+                .map(field -> field.getAnnotation(DbSetupTeardown.class).sources()).collect(Collectors.toList()));
+
+        // make sure all groups selected by test methods exists
+        validateGroupsExist(testClass, operations);
+
+        // trackers must outlive the test instance, otherwise a skip would never reach the next test
+        boolean sharedTrackers = isTrackerShared(context);
+        Map<String, LaunchTracker> trackers = getTrackers(context, sharedTrackers);
+        Map<String, LastPlan> plans = getPlans(context);
 
         // map operations to data sources
         List<DbSetupHolder> holders = new ArrayList<>();
         for (Map.Entry<String, Field> dataSourceEntry : dataSourceFields.entrySet()) {
-            List<Field> operationsForDataSourceFields = new ArrayList<>();
+            List<OperationElement> operationsForDataSource = new ArrayList<>();
 
-            for (Map.Entry<Field, String[]> operationFieldEntry : operationFields.entrySet()) {
-                if (Arrays.asList(operationFieldEntry.getValue()).contains(dataSourceEntry.getKey())) {
-                    operationsForDataSourceFields.add(operationFieldEntry.getKey());
+            for (OperationElement operation : operations) {
+                if (Arrays.asList(operation.sources).contains(dataSourceEntry.getKey())) {
+                    operationsForDataSource.add(operation);
+                }
+            }
+
+            List<Field> teardownFieldsForDataSource = new ArrayList<>();
+
+            for (Field field : teardownFields) {
+                if (Arrays.asList(field.getAnnotation(DbSetupTeardown.class).sources()).contains(dataSourceEntry.getKey())) {
+                    teardownFieldsForDataSource.add(field);
                 }
             }
 
@@ -94,30 +217,223 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
                 }
             }
 
-            LOGGER.log(Level.FINE, "Found {0} operations for {1} data source", new Object[] { operationsForDataSourceFields.size(), dataSourceEntry.getKey() });
-            holders.add(new DbSetupHolder(dataSourceEntry.getValue(), operationsForDataSourceFields, binderConfigurationField));
+            if (dataSourceEntry.getValue().getAnnotation(DbSetupSource.class).immutable()) {
+                validateImmutable(dataSourceEntry.getKey(), operationsForDataSource, teardownFieldsForDataSource);
+            }
+
+            LOGGER.log(Level.FINE, "Found {0} operations for {1} data source", new Object[] { operationsForDataSource.size(), dataSourceEntry.getKey() });
+            LaunchTracker tracker = trackers.computeIfAbsent(dataSourceEntry.getKey(), name -> new LaunchTracker(sharedTrackers));
+            LastPlan plan = plans != null ? plans.computeIfAbsent(dataSourceEntry.getKey(), name -> new LastPlan()) : null;
+            holders.add(new DbSetupHolder(dataSourceEntry.getKey(), dataSourceEntry.getValue(),
+                    operationsForDataSource, teardownFieldsForDataSource, binderConfigurationField, tracker, plan,
+                    listeners));
         }
 
-        getStore(context, testInstance).put(DB_SETUP_HOLDERS_KEY, holders);
+        getStore(context, testInstance).put(DB_SETUP_HOLDERS_KEY, new DbSetupHolders(holders, context));
+        prewarm(context, testInstance, holders);
+        DbSetupPipeline pipeline = DbSetupPipeline.get(context);
+        if (pipeline != null && !hasReadOnlyInvocations(testClass)) {
+            for (DbSetupHolder holder : holders) {
+                holder.pipeline(context, testInstance, pipeline);
+            }
+        }
+        listeners.afterDiscovery(new DbSetupDiscoveryEvent(testClass, dataSourceFields.size(), operations.size(),
+                System.nanoTime() - start));
     }
 
     /**
      * {@inheritDoc}
      *
      * <p>This method launches the {@link DbSetupOperation}s against the {@link DbSetupSource} before each test.
+     *
+     * <p>The wall time, skip status and JDBC counters of every launch are published as report entries of the test and
+     * recorded in the suite-level {@link DbSetupReport}. The JDBC counters can be turned off by setting the
+     * {@value #JDBC_STATISTICS_PARAMETER} configuration parameter to {@code false}.
+     *
+     * <p>If the {@value CachingOperation#DIRECTORY_PARAMETER} configuration parameter is set, the H2 databases of
+     * {@link DbSetupSource#cached()} data sources are saved to that directory after a launch and restored from it on
+     * later launches of the same operations, see {@link CachingOperation}.
+     *
+     * <p>Launches over the budget of their fixture, or regressing from a baseline, are logged or fail the test, see
+     * {@link DbSetupBudget}.
+     *
+     * <p>If the {@value DbSetupSourceLocks#PARALLEL_PARAMETER} configuration parameter is {@code true}, the data
+     * sources of the test are locked before the launch and until the test ends, see {@link DbSetupSourceLocks}.
+     *
+     * <p>The pending {@link DbSetupTeardown}s and pipelined launches of the data sources of the test are waited for
+     * before the launch, see {@link DbSetupPipeline}.
+     *
+     * <p>{@link DbSetupSource#immutable()} data sources are only launched by the first test using them, and are not
+     * locked, see {@link DbSetupImmutableSources}.
      */
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
-        @SuppressWarnings("unchecked")
-        List<DbSetupHolder> holders = (List<DbSetupHolder>) getStore(context).get(DB_SETUP_HOLDERS_KEY);
+        DbSetupHolders holders = (DbSetupHolders) getStore(context).get(DB_SETUP_HOLDERS_KEY);
+        DbSetupReport report = DbSetupReport.get(context);
+
+        DbSetupSourceLocks locks = DbSetupSourceLocks.get(context);
+        if (locks != null) {
+            List<DbSetupSourceKey> keys = new ArrayList<>();
+            for (DbSetupHolder holder : holders.holders) {
+                DbSetupSourceKey key = holder.getKey(context.getRequiredTestInstance());
+                // immutable data sources are only read, tests share them
+                if (key != null && !holder.isImmutable()) {
+                    keys.add(key);
+                }
+            }
+
+            // the store of the test is closed after the test and every after each callback, which releases the locks
+            context.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class))
+                    .put(DB_SETUP_LOCKS_KEY, locks.lock(keys));
+        }
+
+        DbSetupTeardowns teardowns = DbSetupTeardowns.get(context);
+        DbSetupPipeline pipeline = DbSetupPipeline.get(context);
+        for (DbSetupHolder holder : holders.holders) {
+            DbSetupSourceKey key = holder.getKey(context.getRequiredTestInstance());
+            if (key != null) {
+                teardowns.await(key);
+                if (pipeline != null) {
+                    // such as the launch of the outer instance of a @Nested test
+                    pipeline.join(key);
+                }
+            }
+            holder.launch(context, report);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method starts the {@link DbSetupTeardown}s of the test in the background, see {@link DbSetupTeardowns}.
+     *
+     * <p>With the {@code PER_METHOD} test instance lifecycle, this method drops the {@link DbSetupSource} and
+     * {@link DbSetupOperation}s gathered for the test instances of the test, so that the instances and the operations
+     * they hold can be garbage collected right away instead of at the end of the test class.
+     */
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        Optional<Object> currentInstance = context.getTestInstance();
+        DbSetupHolders holders = currentInstance.isPresent() ?
+                (DbSetupHolders) getStore(context, currentInstance.get()).get(DB_SETUP_HOLDERS_KEY) : null;
+        if (holders != null) {
+            for (DbSetupHolder holder : holders.holders) {
+                holder.teardown(context);
+            }
+        }
+
+        if (context.getTestInstanceLifecycle().orElse(TestInstance.Lifecycle.PER_METHOD) ==
+                TestInstance.Lifecycle.PER_CLASS) {
+            // the same instance runs the next test
+            return;
+        }
+
+        for (Object testInstance : context.getRequiredTestInstances().getAllInstances()) {
+            removeHolders(context, testInstance);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method drops everything kept for the test class, the trackers and, with the {@code PER_CLASS} test
+     * instance lifecycle, the {@link DbSetupSource} and {@link DbSetupOperation}s gathered for the test instance.
+     * Engine wide trackers are kept for the next class, but only hold the last launched setup weakly.
+     */
+    @Override
+    public void afterAll(ExtensionContext context) {
+        context.getTestInstance().ifPresent(testInstance -> removeHolders(context, testInstance));
+
+        ExtensionContext.Store store = context.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class));
+        store.remove(DB_SETUP_TRACKERS_KEY);
+        store.remove(DB_SETUP_PLANS_KEY);
+        store.remove(DB_SETUP_PREWARMED_KEY);
+    }
+
+    private void removeHolders(ExtensionContext context, Object testInstance) {
+        DbSetupHolders holders = (DbSetupHolders) getStore(context, testInstance).get(DB_SETUP_HOLDERS_KEY);
+        if (holders != null) {
+            // the holders are stored where the instance was post processed, which can be any ancestor of this context
+            getStore(holders.context, testInstance).remove(DB_SETUP_HOLDERS_KEY);
+        }
+    }
+
+    /**
+     * Tells whether a test class or its {@code @Nested} classes have read-only {@link DbSetupInvocations} templates,
+     * whose invocations must not relaunch, which cannot be known when the instances of an invocation are post processed.
+     */
+    private static boolean hasReadOnlyInvocations(Class<?> testClass) {
+        boolean readOnlyInvocations = !ReflectionUtils.findMethods(testClass, method ->
+                findAnnotation(method, DbSetupInvocations.class).map(DbSetupInvocations::readOnly).orElse(false)).isEmpty();
+        return readOnlyInvocations || ReflectionUtils.findNestedClasses(testClass, nestedClass ->
+                isAnnotated(nestedClass, Nested.class)).stream().anyMatch(DbSetupExtension::hasReadOnlyInvocations);
+    }
+
+    /**
+     * Starts warming up the data sources of the test class in the background, once per test class, if the
+     * {@value DbSetupPrewarmer#PREWARM_PARAMETER} configuration parameter is {@code true}.
+     */
+    private static void prewarm(ExtensionContext context, Object testInstance, List<DbSetupHolder> holders)
+            throws Exception {
+        DbSetupPrewarmer prewarmer = DbSetupPrewarmer.get(context);
+        if (prewarmer == null) {
+            return;
+        }
+
+        ExtensionContext.Store store = context.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class));
+        if (store.get(DB_SETUP_PREWARMED_KEY) != null) {
+            return;
+        }
+        store.put(DB_SETUP_PREWARMED_KEY, Boolean.TRUE);
 
         for (DbSetupHolder holder : holders) {
-            holder.launch(context);
+            holder.prewarm(testInstance, prewarmer);
         }
     }
 
-    private static Map<String, Field> findDataSourceFields(ExtensionContext context) {
-        Class<?> testClass = context.getRequiredTestClass();
+    /**
+     * Tells whether the trackers are shared by the whole engine run, which is when the
+     * {@value #TRACKER_SCOPE_PARAMETER} configuration parameter is {@code engine}, or kept per test class.
+     *
+     * <p>An engine wide tracker lets the last {@link DbSetupSkipNext} test of a class skip the first launch of the next
+     * class when both launch the same operations against the same data source, see {@link DbSetupClassOrderer}.
+     */
+    private static boolean isTrackerShared(ExtensionContext context) {
+        String scope = context.getConfigurationParameter(TRACKER_SCOPE_PARAMETER).orElse("class");
+        switch (scope) {
+            case "class":
+                return false;
+            case "engine":
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown " + TRACKER_SCOPE_PARAMETER + ": " + scope);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, LaunchTracker> getTrackers(ExtensionContext context, boolean shared) {
+        ExtensionContext trackerContext = shared ? context.getRoot() : context;
+        ExtensionContext.Store store = trackerContext.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_TRACKERS_KEY, key -> new ConcurrentHashMap<String, LaunchTracker>(),
+                Map.class);
+    }
+
+    /**
+     * Gets the last optimized plan of each data source of the test class, see {@link OptimizedOperation}, or null
+     * unless the {@value #OPTIMIZE_PARAMETER} configuration parameter is {@code true}.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, LastPlan> getPlans(ExtensionContext context) {
+        if (!context.getConfigurationParameter(OPTIMIZE_PARAMETER).map(Boolean::parseBoolean).orElse(false)) {
+            return null;
+        }
+
+        ExtensionContext.Store store = context.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_PLANS_KEY, key -> new ConcurrentHashMap<String, LastPlan>(),
+                Map.class);
+    }
+
+    static Map<String, Field> findDataSourceFields(Class<?> testClass) {
         List<Field> dbSetupSources = findAnnotatedFieldsInHierarchy(testClass, DbSetupSource.class);
 
         if (dbSetupSources.isEmpty()) {
@@ -140,6 +456,57 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
         return dbSetupSourcesMap;
     }
 
+    private static void injectManagedDataSources(Map<String, Field> dataSourceFields, Object testInstance,
+                                                 ExtensionContext context) throws IllegalAccessException {
+        for (Field field : dataSourceFields.values()) {
+            ManagedDataSource dataSource = ManagedDataSource.get(context, field.getAnnotation(DbSetupSource.class));
+            if (dataSource == null) {
+                continue;
+            }
+
+            if (Modifier.isFinal(field.getModifiers())) {
+                throw new IllegalArgumentException("@DbSetupSource with a url or configuration cannot be final: " +
+                        field.getName());
+            }
+
+            if (isStatic(field)) {
+                field.set(null, dataSource);
+            }
+            else {
+                field.set(matchElementDeclaringClass(field.getDeclaringClass(), testInstance), dataSource);
+            }
+        }
+    }
+
+    /**
+     * Sets the fields of the {@link DbSetupSource#immutable()} data sources to their read-only view, see
+     * {@link DbSetupImmutableSources}.
+     */
+    private static void injectReadOnlyDataSources(Map<String, Field> dataSourceFields, Object testInstance,
+                                                  ExtensionContext context) throws Exception {
+        for (Field field : dataSourceFields.values()) {
+            DbSetupSource annotation = field.getAnnotation(DbSetupSource.class);
+            DataSource dataSource = getFieldValue(field, testInstance);
+            if (!annotation.immutable() || dataSource == null ||
+                    dataSource instanceof DbSetupImmutableSources.ReadOnlyDataSource) {
+                continue;
+            }
+
+            if (Modifier.isFinal(field.getModifiers())) {
+                throw new IllegalArgumentException("Immutable @DbSetupSource cannot be final: " + field.getName());
+            }
+
+            DataSource readOnlyDataSource = DbSetupImmutableSources.get(context)
+                    .readOnly(DbSetupSourceKey.of(field, dataSource), annotation.name(), dataSource);
+            if (isStatic(field)) {
+                field.set(null, readOnlyDataSource);
+            }
+            else {
+                field.set(matchElementDeclaringClass(field.getDeclaringClass(), testInstance), readOnlyDataSource);
+            }
+        }
+    }
+
     private static Map<Field, String[]> findBinderConfigurationFields(ExtensionContext context) {
         Class<?> testClass = context.getRequiredTestClass();
         List<Field> dbSetupBinderConfigurationElements =
@@ -163,30 +530,67 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
         return result;
     }
 
-    private static LinkedHashMap<Field, String[]> findOperationFields(ExtensionContext context) {
-        Class<?> testClass = context.getRequiredTestClass();
+    /**
+     * Finds the {@link DbSetupOperation} fields and the {@link DbSetupScript}s of a test class, in launch order.
+     */
+    static List<OperationElement> findOperations(Class<?> testClass) {
         List<Field> dbSetupOperationElements = findAnnotatedFieldsInHierarchy(testClass, DbSetupOperation.class);
 
         if (dbSetupOperationElements.isEmpty()) {
             LOGGER.log(Level.FINE, "There are no @DbSetupOperation for {0}", new Object[] { testClass.getName() });
         }
 
-        // we must sort it in a list first
-        dbSetupOperationElements.sort(Comparator.comparingInt(DbSetupExtension::getOperationOrder));
+        List<DbSetupScript> scripts = findScriptsInHierarchy(testClass);
+        // a lone operation needs no order
+        boolean ordered = dbSetupOperationElements.size() + scripts.size() > 1;
 
-        // because if we use TreeMaps(Comparator) to sort, duplicated sort entries will be lost
-        LinkedHashMap<Field, String[]> orderedMap = new LinkedHashMap<>();
+        List<OperationElement> operations = new ArrayList<>();
         for (Field field : dbSetupOperationElements) {
             makeAccessible(field);
             checkField(field, Operation.class, "@DbSetupOperation");
 
             DbSetupOperation operationAnnotation = field.getAnnotation(DbSetupOperation.class);
-            String[] dataSources = operationAnnotation.sources();
+            operations.add(new OperationElement(ordered ? getOperationOrder(field) : 0, operationAnnotation.sources(),
+                    operationAnnotation.groups(), field, null));
+        }
 
-            orderedMap.put(field, dataSources);
+        for (DbSetupScript script : scripts) {
+            operations.add(new OperationElement(script.order(), script.sources(), script.groups(), null,
+                    DbSetupSqlScript.from(script.value(), script.batchSize())));
         }
 
-        return orderedMap;
+        // the sort is stable, so operations come before scripts of the same order
+        operations.sort(Comparator.comparingInt(operation -> operation.order));
+        return operations;
+    }
+
+    private static List<DbSetupScript> findScriptsInHierarchy(Class<?> clazz) {
+        List<DbSetupScript> scripts = new ArrayList<>();
+
+        if (clazz.getDeclaringClass() != null) {
+            scripts.addAll(findScriptsInHierarchy(clazz.getDeclaringClass()));
+        }
+
+        // a @Nested class extending its outer class inherits the scripts already found in the outer class, as the
+        // same instances
+        for (DbSetupScript script : findRepeatableAnnotations(clazz, DbSetupScript.class)) {
+            if (scripts.stream().noneMatch(other -> other == script)) {
+                scripts.add(script);
+            }
+        }
+        return scripts;
+    }
+
+    private static List<Field> findTeardownFields(Class<?> testClass) {
+        List<Field> teardownFields = findAnnotatedFieldsInHierarchy(testClass, DbSetupTeardown.class);
+        for (Field field : teardownFields) {
+            makeAccessible(field);
+            checkField(field, Operation.class, "@DbSetupTeardown");
+        }
+
+        // the sort is stable, so teardowns of the same order stay in declaration order
+        teardownFields.sort(Comparator.comparingInt(field -> field.getAnnotation(DbSetupTeardown.class).order()));
+        return teardownFields;
     }
 
     private ExtensionContext.Store getStore(ExtensionContext context, Object testInstance) {
@@ -205,7 +609,7 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> T getFieldValue(Field field, Object instance) throws Exception {
+    static <T> T getFieldValue(Field field, Object instance) throws Exception {
         if (isStatic(field)) {
             return (T) field.get(null);
         }
@@ -215,14 +619,19 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
         }
     }
 
-    private static List<Field> findAnnotatedFieldsInHierarchy(Class<?> clazz, Class<? extends Annotation> annotationType) {
+    static List<Field> findAnnotatedFieldsInHierarchy(Class<?> clazz, Class<? extends Annotation> annotationType) {
         List<Field> fields = new ArrayList<>();
 
         if (clazz.getDeclaringClass() != null) {
             fields.addAll(findAnnotatedFieldsInHierarchy(clazz.getDeclaringClass(), annotationType));
         }
 
-        fields.addAll(findAnnotatedFields(clazz, annotationType, f -> true, ReflectionUtils.HierarchyTraversalMode.TOP_DOWN));
+        // a @Nested class extending its outer class inherits the fields already found in the outer class
+        for (Field field : findAnnotatedFields(clazz, annotationType, f -> true, ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)) {
+            if (!fields.contains(field)) {
+                fields.add(field);
+            }
+        }
         return fields;
     }
 
@@ -256,7 +665,7 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
                 });
     }
 
-    private static int getOperationOrder(Field field) {
+    static int getOperationOrder(Field field) {
         DbSetupOperation dbSetupOperation = field.getAnnotation(DbSetupOperation.class);
         int order = dbSetupOperation.order();
 
@@ -293,44 +702,512 @@ public class DbSetupExtension implements TestInstancePostProcessor, BeforeEachCa
         return Integer.parseInt(line.substring(offset));
     }
 
+    /**
+     * Same as {@link com.ninja_squad.dbsetup.DbSetupTracker}, but tells whether the launch was skipped.
+     *
+     * <p>A tracker outliving the test class only holds the operations of the last launch weakly, so it does not keep
+     * the fixtures of finished classes on the heap. The next launch is simply not skipped once they are collected.
+     * Operations in static fields are never collected, so sharing them still works.
+     */
+    private static class LaunchTracker {
+        private final boolean weak;
+        private Destination lastDestination;
+        private BinderConfiguration lastBinderConfiguration;
+        private Supplier<List<Operation>> lastOperations = () -> null;
+        private boolean nextLaunchSkipped;
+
+        LaunchTracker(boolean weak) {
+            this.weak = weak;
+        }
+
+        /**
+         * Launches the setup, unless the previous launch was followed by {@link #skipNextLaunch()} and had equal
+         * parts.
+         *
+         * @param dbSetup The setup made of the other parameters
+         * @return Whether the setup was launched
+         */
+        synchronized boolean launchIfNecessary(DbSetup dbSetup, Destination destination, List<Operation> operations,
+                                               BinderConfiguration binderConfiguration) {
+            boolean skipLaunch = nextLaunchSkipped && destination.equals(lastDestination) &&
+                    binderConfiguration.equals(lastBinderConfiguration) && operations.equals(lastOperations.get());
+            nextLaunchSkipped = false;
+            if (skipLaunch) {
+                return false;
+            }
+
+            dbSetup.launch();
+            lastDestination = destination;
+            lastBinderConfiguration = binderConfiguration;
+            if (weak) {
+                List<WeakReference<Operation>> references = new ArrayList<>();
+                for (Operation operation : operations) {
+                    references.add(new WeakReference<>(operation));
+                }
+                lastOperations = () -> {
+                    List<Operation> lastOperations = new ArrayList<>();
+                    for (WeakReference<Operation> reference : references) {
+                        Operation operation = reference.get();
+                        if (operation == null) {
+                            return null;
+                        }
+                        lastOperations.add(operation);
+                    }
+                    return lastOperations;
+                };
+            }
+            else {
+                List<Operation> lastOperations = new ArrayList<>(operations);
+                this.lastOperations = () -> lastOperations;
+            }
+            return true;
+        }
+
+        synchronized void cancelSkipNextLaunch() {
+            nextLaunchSkipped = false;
+        }
+
+        synchronized void skipNextLaunch() {
+            nextLaunchSkipped = true;
+        }
+    }
+
+    /**
+     * The optimized plan of the last operations launched on a data source by the tests of a class. The operations are
+     * compared by identity, which is cheap and true for operations in static fields, so the plan is only computed again
+     * when the operations are new instances or change.
+     */
+    private static class LastPlan {
+        private List<Operation> operations = Collections.emptyList();
+        private List<Operation> plan = Collections.emptyList();
+
+        synchronized List<Operation> get(List<Operation> operations) {
+            if (!isSame(operations)) {
+                this.plan = OptimizedOperation.plan(operations);
+                this.operations = operations;
+            }
+            return plan;
+        }
+
+        private boolean isSame(List<Operation> operations) {
+            if (operations.size() != this.operations.size()) {
+                return false;
+            }
+            for (int i = 0; i < operations.size(); i++) {
+                if (operations.get(i) != this.operations.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * An operation of a test class, either the value of a {@link DbSetupOperation} field or a {@link DbSetupScript}.
+     */
+    static class OperationElement {
+        final int order;
+        final String[] sources;
+        final String[] groups;
+        final Field field;
+        final Operation script;
+
+        OperationElement(int order, String[] sources, String[] groups, Field field, Operation script) {
+            this.order = order;
+            this.sources = sources;
+            this.groups = groups;
+            this.field = field;
+            this.script = script;
+        }
+
+        Operation get(Object testInstance) throws Exception {
+            return field != null ? getFieldValue(field, testInstance) : script;
+        }
+    }
+
+    /**
+     * The holders of a test instance, and the context they are stored in.
+     */
+    private static class DbSetupHolders {
+        private final List<DbSetupHolder> holders;
+        private final ExtensionContext context;
+
+        DbSetupHolders(List<DbSetupHolder> holders, ExtensionContext context) {
+            this.holders = holders;
+            this.context = context;
+        }
+    }
+
     private static class DbSetupHolder {
+        private String name;
         private Field dataSourceDestinationField;
-        private List<Field> operationFields;
+        private List<OperationElement> operationElements;
+        private List<Field> teardownFields;
         private Field binderConfigurationField;
-        private DbSetupTracker dbSetupTracker;
+        private LaunchTracker tracker;
+        private LastPlan lastPlan;
+        private DbSetupLaunchListener listener;
+        private PreparedLaunch pipelined;
 
-        public DbSetupHolder(Field dataSourceDestinationField, List<Field> operationFields, Field binderConfigurationField) {
+        public DbSetupHolder(String name, Field dataSourceDestinationField, List<OperationElement> operations,
+                             List<Field> teardownFields, Field binderConfigurationField, LaunchTracker tracker,
+                             LastPlan lastPlan, DbSetupLaunchListener listener) {
+            this.name = name;
             this.dataSourceDestinationField = dataSourceDestinationField;
-            this.operationFields = operationFields;
-            this.dbSetupTracker = new DbSetupTracker();
+            this.operationElements = operations;
+            this.teardownFields = teardownFields;
             this.binderConfigurationField = binderConfigurationField;
+            this.tracker = tracker;
+            this.lastPlan = lastPlan;
+            this.listener = listener;
         }
 
-        public void launch(ExtensionContext context) throws Exception {
-            LOGGER.log(Level.FINE, "Launching {0} operations", new Object[] { operationFields.size() });
-            if (operationFields.isEmpty()) {
+        public void prewarm(Object testInstance, DbSetupPrewarmer prewarmer) throws Exception {
+            if (operationElements.isEmpty()) {
                 return;
             }
 
-            Object testInstance = context.getRequiredTestInstance();
+            DataSource dataSource = getDataSource(testInstance);
+            // groups depend on the test, only the baseline is common to all of them
+            prewarmer.prewarm(dataSource, getOperations(testInstance, Collections.emptySet()),
+                    getBinderConfiguration(testInstance));
+        }
+
+        /**
+         * Gets the data source to launch on, which is not the read-only view tests get for an immutable data source.
+         */
+        DataSource getDataSource(Object testInstance) throws Exception {
+            return DbSetupImmutableSources.unwrap(getFieldValue(dataSourceDestinationField, testInstance));
+        }
 
-            DataSource dataSource = getFieldValue(dataSourceDestinationField, testInstance);
+        /**
+         * Gets the key of the database behind the data source, the same for every test instance.
+         *
+         * @return The key, or null if the data source is not set
+         */
+        DbSetupSourceKey getKey(Object testInstance) throws Exception {
+            DataSource dataSource = getDataSource(testInstance);
+            return dataSource != null ? DbSetupSourceKey.of(dataSourceDestinationField, dataSource) : null;
+        }
+
+        boolean isImmutable() {
+            return dataSourceDestinationField.getAnnotation(DbSetupSource.class).immutable();
+        }
+
+        /**
+         * Gets the operations in order, without those of the groups that are not selected.
+         *
+         * @param groups The groups selected by the test with {@link DbSetupGroups}
+         */
+        private List<Operation> getOperations(Object testInstance, Set<String> groups) throws Exception {
             List<Operation> operations = new ArrayList<>();
-            for (Field field : operationFields) {
-                operations.add(getFieldValue(field, testInstance));
+            for (OperationElement element : operationElements) {
+                if (element.groups.length == 0 || Arrays.stream(element.groups).anyMatch(groups::contains)) {
+                    operations.add(element.get(testInstance));
+                }
             }
+            return operations;
+        }
 
-            BinderConfiguration binderConfiguration = binderConfigurationField != null ?
+        private BinderConfiguration getBinderConfiguration(Object testInstance) throws Exception {
+            return binderConfigurationField != null ?
                     getFieldValue(binderConfigurationField, testInstance) : DefaultBinderConfiguration.INSTANCE;
+        }
 
-            DataSourceDestination dataSourceDestination = new DataSourceDestination(dataSource);
-            DbSetup dbSetup = new DbSetup(dataSourceDestination, sequenceOf(operations), binderConfiguration);
-            dbSetupTracker.launchIfNecessary(dbSetup);
+        /**
+         * Gets whether this data source was already set up for an invocation of the read-only test template the test
+         * belongs to.
+         *
+         * @return The flag shared by the invocations of the template, or null if the test is not the invocation of a
+         *         template annotated with {@link DbSetupInvocations#readOnly()}
+         */
+        private AtomicBoolean getTemplateLaunched(ExtensionContext context, Method testMethod) {
+            ExtensionContext.Store store = getTemplateStore(context, testMethod);
+            if (store == null) {
+                return null;
+            }
 
+            return store.getOrComputeIfAbsent(DB_SETUP_TEMPLATE_LAUNCHED_KEY + name, key -> new AtomicBoolean(),
+                    AtomicBoolean.class);
+        }
+
+        /**
+         * Gets the store of the read-only test template the test is an invocation of.
+         *
+         * @return The store of the template, or null if the test is not the invocation of a template annotated with
+         *         {@link DbSetupInvocations#readOnly()}
+         */
+        private static ExtensionContext.Store getTemplateStore(ExtensionContext context, Method testMethod) {
+            Optional<DbSetupInvocations> invocations = findAnnotation(testMethod, DbSetupInvocations.class);
+            if (!invocations.isPresent() || !invocations.get().readOnly()) {
+                return null;
+            }
+
+            // the parent of an invocation is the context of the template, which has the same test method
+            return context.getParent()
+                    .filter(parent -> parent.getTestMethod().equals(Optional.of(testMethod)))
+                    .map(template -> template.getStore(ExtensionContext.Namespace.create(DbSetupExtension.class)))
+                    .orElse(null);
+        }
+
+        /**
+         * Starts the teardowns of the test in the background, or once the invocations of its read-only test template
+         * have all run.
+         */
+        public void teardown(ExtensionContext context) throws Exception {
+            if (teardownFields.isEmpty()) {
+                return;
+            }
+
+            Object testInstance = context.getRequiredTestInstance();
+            List<Operation> operations = new ArrayList<>();
+            for (Field field : teardownFields) {
+                operations.add(getFieldValue(field, testInstance));
+            }
+            DataSource dataSource = getDataSource(testInstance);
+            DbSetupSourceKey key = DbSetupSourceKey.of(dataSourceDestinationField, dataSource);
+            DbSetup dbSetup = new DbSetup(new DataSourceDestination(dataSource), sequenceOf(operations),
+                    getBinderConfiguration(testInstance));
+            DbSetupTeardowns teardowns = DbSetupTeardowns.get(context);
+            String description = name + " after " + context.getRequiredTestClass().getName() + "." +
+                    context.getRequiredTestMethod().getName();
+
+            Runnable start = () -> {
+                // the data is gone, the next test must launch
+                tracker.cancelSkipNextLaunch();
+                teardowns.start(key, description, dbSetup::launch);
+            };
+            ExtensionContext.Store templateStore = getTemplateStore(context, context.getRequiredTestMethod());
+            if (templateStore != null) {
+                // the template store is closed after its last invocation
+                templateStore.getOrComputeIfAbsent(DB_SETUP_TEMPLATE_TEARDOWN_KEY + name,
+                        k -> (ExtensionContext.Store.CloseableResource) start::run);
+            }
+            else {
+                start.run();
+            }
+        }
+
+        /**
+         * Starts the launch of the baseline operations, those without groups, in the background. The launch is used by
+         * the next test of the instance if it launches the same operations, otherwise it is waited for and the test
+         * launches again.
+         */
+        public void pipeline(ExtensionContext context, Object testInstance, DbSetupPipeline pipeline) throws Exception {
+            // immutable data sources are launched once, by the first test
+            if (operationElements.isEmpty() || isImmutable()) {
+                return;
+            }
+
+            List<Operation> operations = getOperations(testInstance, Collections.emptySet());
+            if (operations.isEmpty()) {
+                return;
+            }
+
+            PreparedLaunch prepared = prepare(context, testInstance, operations);
+            pipelined = prepared;
+            prepared.future = pipeline.submit(getKey(testInstance), DbSetupTeardowns.get(context), () -> {
+                prepared.start = System.nanoTime();
+                try {
+                    return tracker.launchIfNecessary(prepared.dbSetup, prepared.destination, operations,
+                            prepared.binderConfiguration);
+                }
+                finally {
+                    prepared.duration = System.nanoTime() - prepared.start;
+                }
+            });
+        }
+
+        private PreparedLaunch prepare(ExtensionContext context, Object testInstance, List<Operation> operations)
+                throws Exception {
+            Class<?> testClass = context.getRequiredTestClass();
+            DataSource dataSource = getDataSource(testInstance);
+            // the plan only depends on the operations, the tests of the class launching the same share it
+            List<Operation> plan = lastPlan != null ? lastPlan.get(operations) : operations;
+            PreparedLaunch prepared = new PreparedLaunch(operations, plan, getBinderConfiguration(testInstance));
+
+            prepared.countJdbcCalls = context.getConfigurationParameter(JDBC_STATISTICS_PARAMETER)
+                    .map(Boolean::parseBoolean).orElse(true);
+            prepared.destination = prepared.countJdbcCalls ?
+                    new CountingDestination(dataSource, prepared.statistics) : new DataSourceDestination(dataSource);
+            prepared.budgetMillis = DbSetupBudget.getBudgetMillis(testClass,
+                    dataSourceDestinationField.getAnnotation(DbSetupSource.class));
+            prepared.budgetChecked = DbSetupBudget.get(context).isChecked(testClass, name, prepared.budgetMillis);
+            long[] nanos = prepared.budgetChecked ? prepared.operationNanos : null;
+            Operation operation = lastPlan != null ? new OptimizedOperation(plan, nanos) :
+                    sequenceOf(nanos != null ? DbSetupBudget.time(plan, nanos) : plan);
+            if (dataSourceDestinationField.getAnnotation(DbSetupSource.class).deferConstraints()) {
+                operation = new ConstraintDeferringOperation(operation);
+            }
+            Optional<String> cacheDirectory = context.getConfigurationParameter(CachingOperation.DIRECTORY_PARAMETER);
+            if (cacheDirectory.isPresent() && dataSourceDestinationField.getAnnotation(DbSetupSource.class).cached()) {
+                operation = new CachingOperation(operation, Paths.get(cacheDirectory.get()));
+            }
+            prepared.dbSetup = new DbSetup(prepared.destination, operation, prepared.binderConfiguration);
+            return prepared;
+        }
+
+        public void launch(ExtensionContext context, DbSetupReport report) throws Exception {
+            LOGGER.log(Level.FINE, "Launching {0} operations", new Object[] { operationElements.size() });
+            if (operationElements.isEmpty()) {
+                return;
+            }
+
+            Object testInstance = context.getRequiredTestInstance();
+            Class<?> testClass = context.getRequiredTestClass();
             Method testMethod = context.getRequiredTestMethod();
+            Set<String> groups = findAnnotation(testMethod, DbSetupGroups.class)
+                    .<Set<String>>map(annotation -> new HashSet<>(Arrays.asList(annotation.value())))
+                    .orElse(Collections.emptySet());
+
+            // a pipelined launch is only used once, by the first test of the instance
+            PreparedLaunch pipelined = this.pipelined;
+            this.pipelined = null;
+
+            List<Operation> operations = getOperations(testInstance, groups);
+            AtomicBoolean templateLaunched = getTemplateLaunched(context, testMethod);
+            boolean pipelineUsed = pipelined != null && !pipelined.future.isCancelled() && templateLaunched == null &&
+                    pipelined.operations.equals(operations);
+            if (pipelined != null && !pipelineUsed) {
+                // never launch while the pipelined launch may still be writing
+                pipelined.awaitQuietly();
+            }
+
+            if (operations.isEmpty()) {
+                LOGGER.log(Level.FINE, "No operations for {0} in the groups of {1}", new Object[] { name, testMethod.getName() });
+                if (!isAnnotated(testMethod, DbSetupSkipNext.class)) {
+                    // the test may modify the data source without setting it up, the next test must launch
+                    tracker.cancelSkipNextLaunch();
+                }
+                return;
+            }
+
+            PreparedLaunch prepared = pipelineUsed ? pipelined : prepare(context, testInstance, operations);
+            DbSetupJdbcStatistics statistics = prepared.statistics;
+            listener.beforeLaunch(new DbSetupLaunchEvent(testClass, testMethod, name, operations.size(),
+                    new DbSetupJdbcStatistics(), 0));
+
+            long start = System.nanoTime();
+            boolean launched;
+            long duration;
+            try {
+                if (pipelineUsed) {
+                    launched = pipelined.await();
+                    duration = pipelined.duration;
+                    LOGGER.log(Level.FINE, "Waited {0}ms for pipelined launch of {1}",
+                            new Object[] { DbSetupReport.millis(System.nanoTime() - start), name });
+                }
+                else if (isImmutable()) {
+                    launched = DbSetupImmutableSources.get(context).launchOnce(getKey(testInstance), name,
+                            operations, prepared.binderConfiguration, prepared.dbSetup::launch);
+                    duration = System.nanoTime() - start;
+                }
+                else if (templateLaunched == null) {
+                    launched = tracker.launchIfNecessary(prepared.dbSetup, prepared.destination, operations,
+                            prepared.binderConfiguration);
+                    duration = System.nanoTime() - start;
+                }
+                else {
+                    // invocations of the same template can run in parallel, the first one launches for all of them
+                    synchronized (templateLaunched) {
+                        launched = !templateLaunched.get() && tracker.launchIfNecessary(prepared.dbSetup,
+                                prepared.destination, operations, prepared.binderConfiguration);
+                        templateLaunched.set(true);
+                    }
+                    duration = System.nanoTime() - start;
+                }
+            }
+            catch (RuntimeException e) {
+                listener.launchFailed(new DbSetupLaunchEvent(testClass, testMethod, name, operations.size(),
+                        statistics, pipelineUsed ? pipelined.duration : System.nanoTime() - start), e);
+                throw e;
+            }
+
+            DbSetupLaunchEvent event = new DbSetupLaunchEvent(testClass, testMethod, name, operations.size(),
+                    statistics, duration);
+            if (launched) {
+                listener.afterLaunch(event);
+            }
+            else {
+                listener.launchSkipped(event);
+            }
+
+            LOGGER.log(Level.FINE, "{0} data source {1} in {2}ms with {3}",
+                    new Object[] { launched ? "Launched" : "Skipped", name, DbSetupReport.millis(duration), statistics });
+            report.record(testClass, name, duration, !launched, statistics);
+
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("dbsetup.source", name);
+            entry.put("dbsetup.durationMillis", DbSetupReport.millis(duration));
+            entry.put("dbsetup.skipped", Boolean.toString(!launched));
+            entry.put("dbsetup.rows", Long.toString(statistics.getRowsAffected()));
+            if (prepared.countJdbcCalls) {
+                entry.put("dbsetup.jdbc.statementsPrepared", Long.toString(statistics.getStatementsPrepared()));
+                entry.put("dbsetup.jdbc.statementsExecuted", Long.toString(statistics.getStatementsExecuted()));
+                entry.put("dbsetup.jdbc.batches", Long.toString(statistics.getBatches()));
+                entry.put("dbsetup.jdbc.roundTrips", Long.toString(statistics.getRoundTrips()));
+                entry.put("dbsetup.jdbc.metadataCalls", Long.toString(statistics.getMetadataCalls()));
+            }
+            context.publishReportEntry(entry);
+
             if (isAnnotated(testMethod, DbSetupSkipNext.class)) {
                 LOGGER.log(Level.FINE, "Skipping next db setup for {0}", testMethod.getName());
-                dbSetupTracker.skipNextLaunch();
+                tracker.skipNextLaunch();
+            }
+
+            if (launched && prepared.budgetChecked) {
+                DbSetupBudget.get(context).check(testClass, name, prepared.budgetMillis, duration, prepared.plan,
+                        prepared.operationNanos);
+            }
+        }
+    }
+
+    /**
+     * Everything needed to launch the operations of a data source, and to report the launch.
+     */
+    private static class PreparedLaunch {
+        private final List<Operation> operations;
+        private final List<Operation> plan;
+        private final BinderConfiguration binderConfiguration;
+        private final DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+        private final long[] operationNanos;
+        private boolean countJdbcCalls;
+        private Destination destination;
+        private long budgetMillis;
+        private boolean budgetChecked;
+        private DbSetup dbSetup;
+        private Future<Boolean> future;
+        private volatile long start;
+        private volatile long duration;
+
+        PreparedLaunch(List<Operation> operations, List<Operation> plan, BinderConfiguration binderConfiguration) {
+            this.operations = operations;
+            this.plan = plan;
+            this.binderConfiguration = binderConfiguration;
+            this.operationNanos = new long[plan.size()];
+        }
+
+        /**
+         * Waits for the pipelined launch.
+         *
+         * @return Whether the setup was launched
+         * @throws RuntimeException The failure of the launch, rethrown in the test waiting for it
+         */
+        boolean await() throws InterruptedException {
+            try {
+                return future.get();
+            }
+            catch (ExecutionException e) {
+                throw ExceptionUtils.throwAsUncheckedException(e.getCause());
+            }
+        }
+
+        void awaitQuietly() throws InterruptedException {
+            try {
+                future.get();
+            }
+            catch (ExecutionException | CancellationException e) {
+                LOGGER.log(Level.FINE, "Unused pipelined launch did not complete", e);
             }
         }
     }
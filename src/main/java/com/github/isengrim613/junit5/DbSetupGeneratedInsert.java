@@ -0,0 +1,331 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * <p>An {@link Operation} inserting rows produced by a {@link RowGenerator} while they are inserted, instead of holding
+ * every row in memory like {@link com.ninja_squad.dbsetup.operation.Insert}.
+ *
+ * <p>Rows are generated a JDBC batch at a time and inserted with a single prepared statement, bound with the
+ * {@link BinderConfiguration} like {@link com.ninja_squad.dbsetup.operation.Insert}. Only a few batches are in memory
+ * at once, so millions of rows take no more heap than a few thousand.
+ * <pre>
+ *     DbSetupGeneratedInsert.into("person")
+ *             .columns("id", "name", "salary")
+ *             .rows(1_000_000)
+ *             .seed(42)
+ *             .generator((row, random) -&gt; new Object[] { row, "name" + row, random.nextInt(10_000) })
+ *             .threads(4)
+ *             .build();
+ * </pre>
+ *
+ * <p>The random of each batch is seeded with the seed and the index of the batch, so the same seed and batch size
+ * always produce the same rows, in the same order, whatever the number of threads. With more than one thread, batches
+ * are generated by worker threads ahead of the connection, which stays on the launching thread.
+ *
+ * <p>Two inserts are equal if they have the same table, columns, row count, seed, batch size and generator. Generators
+ * are usually lambdas, which are only equal to themselves, so the operation should be kept in a static field for
+ * {@link DbSetupSkipNext} to recognize it. Such an insert is never cached on disk either, since a lambda has no stable
+ * description.
+ */
+public final class DbSetupGeneratedInsert implements Operation {
+    static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final String table;
+    private final List<String> columns;
+    private final long rowCount;
+    private final long seed;
+    private final RowGenerator generator;
+    private final int batchSize;
+    private final int threads;
+
+    private DbSetupGeneratedInsert(Builder builder) {
+        this.table = builder.table;
+        this.columns = builder.columns;
+        this.rowCount = builder.rowCount;
+        this.seed = builder.seed;
+        this.generator = builder.generator;
+        this.batchSize = builder.batchSize;
+        this.threads = builder.threads;
+    }
+
+    /**
+     * Starts building a generated insert into a table.
+     *
+     * @param table The name of the table
+     * @return A builder without columns
+     */
+    public static Builder into(String table) {
+        return new Builder(table);
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        String sql = columns.stream().collect(Collectors.joining(", ", "insert into " + table + " (", ")")) +
+                columns.stream().map(column -> "?").collect(Collectors.joining(", ", " values (", ")"));
+        long batchCount = (rowCount + batchSize - 1) / batchSize;
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            ParameterMetaData metadata = statement.getParameterMetaData();
+            Binder[] binders = new Binder[columns.size()];
+            for (int i = 0; i < binders.length; i++) {
+                binders[i] = configuration.getBinder(metadata, i + 1);
+            }
+
+            if (threads == 1) {
+                for (long batch = 0; batch < batchCount; batch++) {
+                    insert(statement, binders, generate(batch));
+                }
+                return;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "dbsetup-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                // a window of batches is generated ahead of the insert, which bounds the rows held in memory
+                Deque<Future<List<Object[]>>> pending = new ArrayDeque<>();
+                long nextBatch = 0;
+                for (long batch = 0; batch < batchCount; batch++) {
+                    while (nextBatch < batchCount && pending.size() < threads * 2) {
+                        long generatedBatch = nextBatch++;
+                        pending.add(executor.submit(() -> generate(generatedBatch)));
+                    }
+                    insert(statement, binders, await(pending.removeFirst()));
+                }
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private List<Object[]> generate(long batch) {
+        Random random = new Random(seed ^ (batch * 0x9E3779B97F4A7C15L));
+        long firstRow = batch * batchSize;
+        long lastRow = Math.min(firstRow + batchSize, rowCount);
+
+        List<Object[]> rows = new ArrayList<>((int) (lastRow - firstRow));
+        for (long row = firstRow; row < lastRow; row++) {
+            Object[] values = generator.generate(row, random);
+            if (values == null || values.length != columns.size()) {
+                throw new IllegalArgumentException("Row " + row + " of " + table + " has " +
+                        (values == null ? 0 : values.length) + " values instead of " + columns.size());
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private static void insert(PreparedStatement statement, Binder[] binders, List<Object[]> rows) throws SQLException {
+        for (Object[] values : rows) {
+            for (int i = 0; i < values.length; i++) {
+                binders[i].bind(statement, i + 1, values[i]);
+            }
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    private static List<Object[]> await(Future<List<Object[]>> future) throws SQLException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while generating rows", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new SQLException("Cannot generate rows", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the number of rows this operation inserts.
+     *
+     * @return The number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The number of threads is ignored since it does not change the rows.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DbSetupGeneratedInsert that = (DbSetupGeneratedInsert) o;
+        return rowCount == that.rowCount && seed == that.seed && batchSize == that.batchSize &&
+                table.equals(that.table) && columns.equals(that.columns) && generator.equals(that.generator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, columns, rowCount, seed, generator, batchSize);
+    }
+
+    @Override
+    public String toString() {
+        return "DbSetupGeneratedInsert [table=" + table + ", columns=" + columns + ", rows=" + rowCount + ", seed=" +
+                seed + ", batchSize=" + batchSize + ", generator=" + generator + "]";
+    }
+
+    /**
+     * Generates the values of a row.
+     */
+    @FunctionalInterface
+    public interface RowGenerator {
+        /**
+         * Generates the values of a row, with a value for every column in declaration order. A value can be null.
+         *
+         * <p>This method can be called by several threads at once, for different rows.
+         *
+         * @param row The index of the row, from 0
+         * @param random The random of the batch of the row, only used by the current thread
+         * @return The values of the row
+         */
+        Object[] generate(long row, Random random);
+    }
+
+    /**
+     * Builds a {@link DbSetupGeneratedInsert}, see {@link DbSetupGeneratedInsert#into(String)}.
+     */
+    public static final class Builder {
+        private final String table;
+        private List<String> columns = new ArrayList<>();
+        private long rowCount;
+        private long seed;
+        private RowGenerator generator;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int threads = 1;
+
+        private Builder(String table) {
+            this.table = table;
+        }
+
+        /**
+         * Sets the columns, in the order of the values of the generated rows.
+         *
+         * @param columns The names of the columns
+         * @return This builder
+         */
+        public Builder columns(String... columns) {
+            this.columns = Arrays.asList(columns.clone());
+            return this;
+        }
+
+        /**
+         * Sets the number of rows to generate.
+         *
+         * @param rowCount The number of rows
+         * @return This builder
+         */
+        public Builder rows(long rowCount) {
+            if (rowCount < 0) {
+                throw new IllegalArgumentException("Row count must not be negative: " + rowCount);
+            }
+            this.rowCount = rowCount;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the randoms given to the generator.
+         *
+         * @param seed The seed, 0 by default
+         * @return This builder
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the generator of the rows.
+         *
+         * @param generator The generator
+         * @return This builder
+         */
+        public Builder generator(RowGenerator generator) {
+            this.generator = Objects.requireNonNull(generator, "generator");
+            return this;
+        }
+
+        /**
+         * Sets the number of rows per JDBC batch, which is also the number of rows generated at once.
+         *
+         * @param batchSize The number of rows per batch, {@value DbSetupGeneratedInsert#DEFAULT_BATCH_SIZE} by default
+         * @return This builder
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads generating rows. With 1, rows are generated by the launching thread.
+         *
+         * @param threads The number of threads, 1 by default
+         * @return This builder
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Builds the insert.
+         *
+         * @return The insert
+         */
+        public DbSetupGeneratedInsert build() {
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("Insert into " + table + " has no columns");
+            }
+            if (generator == null) {
+                throw new IllegalArgumentException("Insert into " + table + " has no generator");
+            }
+            return new DbSetupGeneratedInsert(this);
+        }
+    }
+}
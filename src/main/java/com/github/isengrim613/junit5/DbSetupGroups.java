@@ -0,0 +1,27 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Selects the groups of {@link DbSetupOperation}s launched for a test, in addition to the operations without
+ * groups.
+ *
+ * <p>A test without this annotation only launches the operations without groups, so a class does not have to load the
+ * data of every test before every test.
+ *
+ * <p>Every group must be declared by at least one {@link DbSetupOperation#groups()}, otherwise an exception will be
+ * thrown during parsing.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DbSetupGroups {
+    /**
+     * Names of the groups to launch. Names will be case-sensitive.
+     *
+     * @return Group names selected by the test
+     */
+    String[] value();
+}
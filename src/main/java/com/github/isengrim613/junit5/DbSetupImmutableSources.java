@@ -0,0 +1,399 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>The {@link DbSetupSource#immutable()} data sources, launched once per JVM and only handed to tests read-only.
+ *
+ * <p>Data sources are tracked by {@link DbSetupSourceKey}, like {@link DbSetupSourceLocks}, so that a data source in
+ * an instance field is launched once, not once per test instance. The first test using an immutable data
+ * source launches its operations, later tests of any class skip the launch if their operations and binder
+ * configuration are equal, and fail otherwise, since the data cannot be set up twice.
+ *
+ * <p>Tests get a {@link ReadOnlyDataSource} whose statements reject any SQL but queries, so the data never drifts
+ * from what was launched. Only the extension launches through the wrapped data source.
+ *
+ * <p>The registry lives in the root {@link ExtensionContext.Store}, and keeps the launched operations for the whole
+ * engine run.
+ */
+class DbSetupImmutableSources {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupImmutableSources.class.getName());
+    private static final String DB_SETUP_IMMUTABLE_SOURCES_KEY = "DB_SETUP_IMMUTABLE_SOURCES";
+    private static final List<String> QUERY_KEYWORDS =
+            Arrays.asList("select", "with", "values", "table", "show", "explain", "describe", "desc");
+    private static final List<String> WRITE_KEYWORDS = Arrays.asList("insert", "update", "delete", "merge", "upsert",
+            "truncate", "create", "alter", "drop", "grant", "revoke", "call", "into", "lock", "analyze");
+
+    private final Map<DbSetupSourceKey, ReadOnlyDataSource> readOnlyDataSources = new HashMap<>();
+    private final Map<DbSetupSourceKey, Launch> launches = new HashMap<>();
+
+    /**
+     * Gets the immutable data sources of the current engine run, creating the registry in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The immutable data sources of the current engine run
+     */
+    static DbSetupImmutableSources get(ExtensionContext context) {
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(DbSetupImmutableSources.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_IMMUTABLE_SOURCES_KEY, key -> new DbSetupImmutableSources(),
+                DbSetupImmutableSources.class);
+    }
+
+    /**
+     * Gets the data source a read-only data source wraps.
+     *
+     * @param dataSource Any data source, possibly null
+     * @return The wrapped data source, or the data source itself if it is not read-only
+     */
+    static DataSource unwrap(DataSource dataSource) {
+        return dataSource instanceof ReadOnlyDataSource ? ((ReadOnlyDataSource) dataSource).dataSource : dataSource;
+    }
+
+    /**
+     * Gets the read-only view of a data source, the same for every call with the same data source. Only the view of
+     * the last data source of a key is kept, the previous test instances of an instance field are gone.
+     *
+     * @param key The key of the data source
+     * @param name The name of the {@link DbSetupSource}, for the failure messages
+     * @param dataSource The data source, or its read-only view
+     * @return The read-only view of the data source
+     */
+    synchronized ReadOnlyDataSource readOnly(DbSetupSourceKey key, String name, DataSource dataSource) {
+        if (dataSource instanceof ReadOnlyDataSource) {
+            return (ReadOnlyDataSource) dataSource;
+        }
+
+        ReadOnlyDataSource readOnlyDataSource = readOnlyDataSources.get(key);
+        if (readOnlyDataSource == null || readOnlyDataSource.dataSource != dataSource) {
+            readOnlyDataSource = new ReadOnlyDataSource(name, dataSource);
+            readOnlyDataSources.put(key, readOnlyDataSource);
+        }
+        return readOnlyDataSource;
+    }
+
+    /**
+     * Launches the operations on a data source, unless they were launched before.
+     *
+     * @param key The key of the data source
+     * @param name The name of the {@link DbSetupSource}, for the failure message
+     * @param operations The operations launched by the launch
+     * @param binderConfiguration The binder configuration of the launch
+     * @param launch The launch
+     * @return Whether the operations were launched
+     * @throws IllegalArgumentException If other operations were launched on the data source before
+     */
+    boolean launchOnce(DbSetupSourceKey key, String name, List<Operation> operations,
+                       BinderConfiguration binderConfiguration, Runnable launch) {
+        Launch launched;
+        synchronized (this) {
+            launched = launches.computeIfAbsent(key, k -> new Launch());
+        }
+
+        // tests running in parallel wait for the first launch instead of locking the data source
+        synchronized (launched) {
+            if (launched.operations == null) {
+                launch.run();
+                launched.operations = new ArrayList<>(operations);
+                launched.binderConfiguration = binderConfiguration;
+                LOGGER.log(Level.FINE, "Launched immutable data source {0}", name);
+                return true;
+            }
+
+            if (!launched.operations.equals(operations) || !launched.binderConfiguration.equals(binderConfiguration)) {
+                throw new IllegalArgumentException("Immutable @DbSetupSource " + name + " was already launched " +
+                        "with other operations or binder configuration");
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Tells whether a SQL string is a single statement that only reads. It must start with a query keyword, and have
+     * no statement separator and no keyword that writes or locks, such as a {@code DELETE} in a common table expression,
+     * {@code SELECT ... FOR UPDATE}, {@code SELECT ... INTO} or {@code EXPLAIN ANALYZE DELETE}. Keywords in literals,
+     * quoted identifiers and comments are ignored.
+     */
+    static boolean isQuery(String sql) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                // a doubled quote escapes the quote, and is read as two literals
+                i = end < 0 ? sql.length() : end + 1;
+            }
+            else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            }
+            else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            }
+            else if (c == ';') {
+                if (!sql.substring(i + 1).trim().isEmpty()) {
+                    return false;
+                }
+                i = sql.length();
+            }
+            else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' ||
+                        sql.charAt(i) == '$')) {
+                    i++;
+                }
+                words.add(sql.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+            else {
+                i++;
+            }
+        }
+
+        if (words.isEmpty() || !QUERY_KEYWORDS.contains(words.get(0))) {
+            return false;
+        }
+        for (String word : words) {
+            if (WRITE_KEYWORDS.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Launch {
+        private List<Operation> operations;
+        private BinderConfiguration binderConfiguration;
+    }
+
+    /**
+     * A data source handing out connections whose statements reject any SQL but queries, updatable result sets and
+     * stored procedures.
+     *
+     * <p>The connections are also set read-only, which some drivers enforce, while others such as H2 take it as a hint.
+     * The proxies never hand out the connection, statement or metadata they wrap: {@code unwrap} only returns the
+     * proxy itself, and the connection of the metadata and the statement of a result set are the proxies.
+     */
+    static class ReadOnlyDataSource implements DataSource {
+        private final String name;
+        private final DataSource dataSource;
+
+        ReadOnlyDataSource(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnly(dataSource.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readOnly(dataSource.getConnection(username, password));
+        }
+
+        private Connection readOnly(Connection connection) throws SQLException {
+            boolean wasReadOnly = connection.isReadOnly();
+            connection.setReadOnly(true);
+
+            return proxy(Connection.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "createStatement":
+                        checkConcurrency(args, 1);
+                        return readOnly((Connection) proxy, (Statement) invoke(connection, method, args),
+                                Statement.class);
+                    case "prepareStatement":
+                        checkQuery((String) args[0]);
+                        checkConcurrency(args, 2);
+                        return readOnly((Connection) proxy, (Statement) invoke(connection, method, args),
+                                PreparedStatement.class);
+                    case "prepareCall":
+                        throw rejected("stored procedure " + args[0]);
+                    case "setReadOnly":
+                        if (!(Boolean) args[0]) {
+                            throw rejected("read-write connection");
+                        }
+                        return null;
+                    case "getMetaData":
+                        return readOnly((Connection) proxy, connection.getMetaData());
+                    case "close":
+                        // a pooled connection may be handed to a data source that is not immutable next
+                        if (!connection.isClosed()) {
+                            connection.setReadOnly(wasReadOnly);
+                        }
+                        return invoke(connection, method, args);
+                    default:
+                        return invoke(connection, method, args);
+                }
+            });
+        }
+
+        private Statement readOnly(Connection connection, Statement statement, Class<? extends Statement> type) {
+            return proxy(type, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "execute":
+                    case "executeQuery":
+                        if (args != null && args.length > 0) {
+                            checkQuery((String) args[0]);
+                        }
+                        return readOnly((Statement) proxy, invoke(statement, method, args));
+                    case "executeUpdate":
+                    case "executeLargeUpdate":
+                    case "addBatch":
+                    case "executeBatch":
+                    case "executeLargeBatch":
+                        throw rejected(method.getName());
+                    case "getConnection":
+                        return connection;
+                    default:
+                        return readOnly((Statement) proxy, invoke(statement, method, args));
+                }
+            });
+        }
+
+        private DatabaseMetaData readOnly(Connection connection, DatabaseMetaData metaData) {
+            return proxy(DatabaseMetaData.class, (proxy, method, args) -> {
+                if (method.getName().equals("getConnection")) {
+                    return connection;
+                }
+                // the result sets of the metadata have no statement
+                return readOnly(null, invoke(metaData, method, args));
+            });
+        }
+
+        /**
+         * Wraps the result sets a statement or metadata returns, other values are returned unchanged.
+         */
+        private Object readOnly(Statement statement, Object value) {
+            if (!(value instanceof ResultSet)) {
+                return value;
+            }
+
+            ResultSet resultSet = (ResultSet) value;
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                if (method.getName().equals("getStatement")) {
+                    return statement;
+                }
+                return invoke(resultSet, method, args);
+            });
+        }
+
+        /**
+         * Creates a proxy that only unwraps to itself, and otherwise delegates to the handler.
+         */
+        private <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(DbSetupImmutableSources.class.getClassLoader(),
+                    new Class<?>[] { type }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "unwrap":
+                                if (((Class<?>) args[0]).isInstance(proxy)) {
+                                    return proxy;
+                                }
+                                throw rejected("unwrapping to " + ((Class<?>) args[0]).getName());
+                            case "isWrapperFor":
+                                return ((Class<?>) args[0]).isInstance(proxy);
+                            default:
+                                return handler.invoke(proxy, method, args);
+                        }
+                    }));
+        }
+
+        private void checkQuery(String sql) throws SQLException {
+            if (!isQuery(sql)) {
+                throw rejected(sql);
+            }
+        }
+
+        private void checkConcurrency(Object[] args, int concurrencyIndex) throws SQLException {
+            if (args != null && args.length > concurrencyIndex && args[concurrencyIndex] instanceof Integer &&
+                    (Integer) args[concurrencyIndex] == ResultSet.CONCUR_UPDATABLE) {
+                throw rejected("updatable result set");
+            }
+        }
+
+        private SQLException rejected(String what) {
+            return new SQLException("@DbSetupSource " + name + " is immutable, rejected " + what);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            }
+            catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return dataSource.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            dataSource.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            dataSource.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return dataSource.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return dataSource.getParentLogger();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            throw new SQLException("Immutable @DbSetupSource " + name + " cannot be unwrapped");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return iface.isInstance(this);
+        }
+
+        @Override
+        public String toString() {
+            return "ReadOnlyDataSource [" + dataSource + "]";
+        }
+    }
+}
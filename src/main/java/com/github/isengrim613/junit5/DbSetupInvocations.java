@@ -0,0 +1,42 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Tells {@link DbSetup} how to set up the invocations of a test template, such as a {@code @RepeatedTest} or a
+ * {@code @ParameterizedTest}.
+ *
+ * <p>When the invocations are {@link #readOnly()}, the operations are launched for the first invocation only, and the
+ * other invocations of the same template reuse the data. Otherwise every invocation relaunches the operations, which
+ * is what happens without this annotation, and is restored from the fixture cache when it is enabled.
+ * <pre>
+ *     &#064;ParameterizedTest
+ *     &#064;ValueSource(ints = { 1, 2, 3 })
+ *     &#064;DbSetupInvocations
+ *     void shouldFindRow(int key) {
+ *         ...
+ *     }
+ * </pre>
+ *
+ * <p>Unlike {@link DbSetupSkipNext}, this annotation does not affect the test running after the template. Both can be
+ * combined to also skip the launch of the next test.
+ *
+ * <p>The operations are expected to be equal for every invocation, which is not checked. Operations in instance fields
+ * are read from the first test instance only.
+ *
+ * <p>This annotation has no effect on a method that is not a test template, and is only for improving performance.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DbSetupInvocations {
+    /**
+     * Whether the invocations leave the data sources unmodified, so that they do not need to be reset between
+     * invocations.
+     *
+     * @return Whether the invocations are read-only
+     */
+    boolean readOnly() default true;
+}
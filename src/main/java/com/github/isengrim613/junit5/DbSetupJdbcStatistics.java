@@ -0,0 +1,103 @@
+package com.github.isengrim613.junit5;
+
+/**
+ * <p>JDBC counters of a single launch, gathered by wrapping the connection handed to the operations.
+ *
+ * <p>Round trips are an estimate: every statement execution, batch execution, commit, rollback and metadata call is
+ * counted as 1 round trip, preparing a statement is not.
+ */
+public final class DbSetupJdbcStatistics {
+    private long statementsPrepared;
+    private long statementsExecuted;
+    private long batches;
+    private long roundTrips;
+    private long rowsAffected;
+    private long metadataCalls;
+
+    DbSetupJdbcStatistics() {
+    }
+
+    /**
+     * @return The number of {@link java.sql.PreparedStatement}s and {@link java.sql.CallableStatement}s prepared
+     */
+    public long getStatementsPrepared() {
+        return statementsPrepared;
+    }
+
+    /**
+     * @return The number of single statement executions, batches excluded
+     */
+    public long getStatementsExecuted() {
+        return statementsExecuted;
+    }
+
+    /**
+     * @return The number of batches executed
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return The estimated number of round trips to the database
+     */
+    public long getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * @return The number of rows inserted, updated or deleted
+     */
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    /**
+     * @return The number of {@link java.sql.DatabaseMetaData}, {@link java.sql.ParameterMetaData} and
+     * {@link java.sql.ResultSetMetaData} lookups
+     */
+    public long getMetadataCalls() {
+        return metadataCalls;
+    }
+
+    synchronized void prepared() {
+        statementsPrepared++;
+    }
+
+    synchronized void executed(long rows) {
+        statementsExecuted++;
+        roundTrips++;
+        rowsAffected += Math.max(rows, 0);
+    }
+
+    synchronized void batchExecuted(long rows) {
+        batches++;
+        roundTrips++;
+        rowsAffected += Math.max(rows, 0);
+    }
+
+    synchronized void transactionEnded() {
+        roundTrips++;
+    }
+
+    synchronized void metadataCalled() {
+        metadataCalls++;
+        roundTrips++;
+    }
+
+    synchronized void add(DbSetupJdbcStatistics other) {
+        statementsPrepared += other.statementsPrepared;
+        statementsExecuted += other.statementsExecuted;
+        batches += other.batches;
+        roundTrips += other.roundTrips;
+        rowsAffected += other.rowsAffected;
+        metadataCalls += other.metadataCalls;
+    }
+
+    @Override
+    public String toString() {
+        return "DbSetupJdbcStatistics [statementsPrepared=" + statementsPrepared + ", statementsExecuted=" +
+                statementsExecuted + ", batches=" + batches + ", roundTrips=" + roundTrips + ", rowsAffected=" +
+                rowsAffected + ", metadataCalls=" + metadataCalls + "]";
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.reflect.Method;
+
+/**
+ * Event of the launch of the operations of a single {@link DbSetupSource} before a test.
+ *
+ * @see DbSetupLaunchListener
+ */
+public final class DbSetupLaunchEvent {
+    private final Class<?> testClass;
+    private final Method testMethod;
+    private final String dataSource;
+    private final int operationCount;
+    private final DbSetupJdbcStatistics jdbcStatistics;
+    private final long durationNanos;
+
+    DbSetupLaunchEvent(Class<?> testClass, Method testMethod, String dataSource, int operationCount,
+                       DbSetupJdbcStatistics jdbcStatistics, long durationNanos) {
+        this.testClass = testClass;
+        this.testMethod = testMethod;
+        this.dataSource = dataSource;
+        this.operationCount = operationCount;
+        this.jdbcStatistics = jdbcStatistics;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return The test class of the test
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * @return The test method of the test
+     */
+    public Method getTestMethod() {
+        return testMethod;
+    }
+
+    /**
+     * @return The {@link DbSetupSource#name()} of the data source
+     */
+    public String getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return The number of {@link DbSetupOperation}s launched on the data source
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * @return The number of rows written, 0 before the launch or if the launch was skipped
+     */
+    public long getRows() {
+        return jdbcStatistics.getRowsAffected();
+    }
+
+    /**
+     * The JDBC counters of the launch. These are all 0 before the launch, if the launch was skipped, or if counting is
+     * turned off with the {@code dbsetup.jdbc.statistics} configuration parameter.
+     *
+     * @return The JDBC counters of the launch
+     */
+    public DbSetupJdbcStatistics getJdbcStatistics() {
+        return jdbcStatistics;
+    }
+
+    /**
+     * @return The wall time of the launch in nanoseconds, 0 before the launch
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "DbSetupLaunchEvent [testClass=" + testClass.getName() + ", testMethod=" + testMethod.getName() +
+                ", dataSource=" + dataSource + ", operationCount=" + operationCount + ", jdbcStatistics=" + jdbcStatistics +
+                ", durationNanos=" + durationNanos + "]";
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.isengrim613.junit5;
+
+/**
+ * <p>Listener for the lifecycle events of {@link DbSetupExtension}. This can be used to forward the timings and counts
+ * of discoveries and launches to a metrics registry.
+ *
+ * <p>Listeners are found in 2 ways, and both ways can be used at the same time:
+ * <ol>
+ *     <li>Through {@link java.util.ServiceLoader}, by listing the implementation in a
+ *     {@code META-INF/services/com.github.isengrim613.junit5.DbSetupLaunchListener} file. These listeners are created
+ *     once per test run and receive the events of every test class.</li>
+ *     <li>By declaring them in {@link DbSetup#listeners()}. These listeners are created once per test class and only
+ *     receive the events of that class and its {@code @Nested} classes.</li>
+ * </ol>
+ *
+ * <p>Implementations must have a no-arg constructor. Every method has an empty default implementation so only the
+ * events of interest need to be overridden. An exception thrown by a listener is logged and does not fail the test.
+ */
+public interface DbSetupLaunchListener {
+    /**
+     * Called before the annotated fields of a test instance are discovered.
+     *
+     * @param event The discovery event, without counts and duration
+     */
+    default void beforeDiscovery(DbSetupDiscoveryEvent event) {
+    }
+
+    /**
+     * Called after the annotated fields of a test instance are discovered and validated.
+     *
+     * @param event The discovery event
+     */
+    default void afterDiscovery(DbSetupDiscoveryEvent event) {
+    }
+
+    /**
+     * Called before the operations of a data source are launched, or skipped, for a test.
+     *
+     * @param event The launch event, without rows and duration
+     */
+    default void beforeLaunch(DbSetupLaunchEvent event) {
+    }
+
+    /**
+     * Called after the operations of a data source are launched for a test.
+     *
+     * @param event The launch event
+     */
+    default void afterLaunch(DbSetupLaunchEvent event) {
+    }
+
+    /**
+     * Called instead of {@link #afterLaunch(DbSetupLaunchEvent)} when the launch was skipped because of
+     * {@link DbSetupSkipNext}.
+     *
+     * @param event The launch event
+     */
+    default void launchSkipped(DbSetupLaunchEvent event) {
+    }
+
+    /**
+     * Called instead of {@link #afterLaunch(DbSetupLaunchEvent)} when the launch failed.
+     *
+     * @param event The launch event, without rows
+     * @param failure The cause of the failure
+     */
+    default void launchFailed(DbSetupLaunchEvent event, Throwable failure) {
+    }
+}
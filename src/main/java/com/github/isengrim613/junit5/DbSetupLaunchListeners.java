@@ -0,0 +1,118 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.util.AnnotationUtils;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatches events to the service-loaded listeners and the listeners declared in {@link DbSetup#listeners()}.
+ */
+class DbSetupLaunchListeners implements DbSetupLaunchListener {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupLaunchListeners.class.getName());
+    private static final String SERVICE_LOADED_LISTENERS_KEY = "SERVICE_LOADED_LISTENERS";
+    private static final String LISTENERS_KEY = "LISTENERS";
+
+    private final List<DbSetupLaunchListener> listeners;
+
+    DbSetupLaunchListeners(List<DbSetupLaunchListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Gets the listeners of the test class of the context, creating them on first use.
+     *
+     * @param context The extension context of the test class
+     * @return The listeners of the test class
+     */
+    static DbSetupLaunchListeners get(ExtensionContext context) {
+        ExtensionContext.Namespace namespace = ExtensionContext.Namespace.create(DbSetupLaunchListeners.class);
+        ExtensionContext.Store rootStore = context.getRoot().getStore(namespace);
+
+        @SuppressWarnings("unchecked")
+        List<DbSetupLaunchListener> serviceLoadedListeners = rootStore.getOrComputeIfAbsent(
+                SERVICE_LOADED_LISTENERS_KEY, key -> loadServices(), List.class);
+
+        // keyed by class as nested classes would otherwise find the listeners of their enclosing class
+        Class<?> testClass = context.getRequiredTestClass();
+        return context.getStore(namespace).getOrComputeIfAbsent(LISTENERS_KEY + testClass.getName(), key -> {
+            List<DbSetupLaunchListener> listeners = new ArrayList<>(serviceLoadedListeners);
+            listeners.addAll(createDeclaredListeners(testClass));
+            return new DbSetupLaunchListeners(listeners);
+        }, DbSetupLaunchListeners.class);
+    }
+
+    private static List<DbSetupLaunchListener> loadServices() {
+        List<DbSetupLaunchListener> listeners = new ArrayList<>();
+        for (DbSetupLaunchListener listener : ServiceLoader.load(DbSetupLaunchListener.class)) {
+            LOGGER.log(Level.FINE, "Loaded listener {0}", listener.getClass().getName());
+            listeners.add(listener);
+        }
+
+        return Collections.unmodifiableList(listeners);
+    }
+
+    private static List<DbSetupLaunchListener> createDeclaredListeners(Class<?> testClass) {
+        List<DbSetupLaunchListener> listeners = new ArrayList<>();
+
+        if (testClass.getDeclaringClass() != null) {
+            listeners.addAll(createDeclaredListeners(testClass.getDeclaringClass()));
+        }
+
+        AnnotationUtils.findAnnotation(testClass, DbSetup.class).ifPresent(dbSetup -> {
+            for (Class<? extends DbSetupLaunchListener> listenerClass : dbSetup.listeners()) {
+                listeners.add(ReflectionUtils.newInstance(listenerClass));
+            }
+        });
+
+        return listeners;
+    }
+
+    @Override
+    public void beforeDiscovery(DbSetupDiscoveryEvent event) {
+        dispatch(listener -> listener.beforeDiscovery(event));
+    }
+
+    @Override
+    public void afterDiscovery(DbSetupDiscoveryEvent event) {
+        dispatch(listener -> listener.afterDiscovery(event));
+    }
+
+    @Override
+    public void beforeLaunch(DbSetupLaunchEvent event) {
+        dispatch(listener -> listener.beforeLaunch(event));
+    }
+
+    @Override
+    public void afterLaunch(DbSetupLaunchEvent event) {
+        dispatch(listener -> listener.afterLaunch(event));
+    }
+
+    @Override
+    public void launchSkipped(DbSetupLaunchEvent event) {
+        dispatch(listener -> listener.launchSkipped(event));
+    }
+
+    @Override
+    public void launchFailed(DbSetupLaunchEvent event, Throwable failure) {
+        dispatch(listener -> listener.launchFailed(event, failure));
+    }
+
+    private void dispatch(Consumer<DbSetupLaunchListener> event) {
+        for (DbSetupLaunchListener listener : listeners) {
+            try {
+                event.accept(listener);
+            }
+            catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Listener " + listener.getClass().getName() + " failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link MethodOrderer} that runs all the {@link DbSetupSkipNext} tests of a class back to back, before the tests
+ * that modify the data sources.
+ *
+ * <p>A skip only helps the test right after it, so the first read only test launches and every test after it, up to
+ * and including the first writing test, is skipped. N read only tests then cost a single launch instead of roughly
+ * N/2 when they are interleaved with writing tests.
+ *
+ * <p>Within the read only and the writing tests, methods are sorted by name and then by parameter types so the order
+ * is deterministic.
+ *
+ * <pre><code>
+ * {@literal @}ExtendWith(DbSetupExtension.class)
+ * {@literal @}TestMethodOrder(DbSetupMethodOrderer.class)
+ * class MyTest {
+ *     ...
+ * }
+ * </code></pre>
+ */
+public class DbSetupMethodOrderer implements MethodOrderer {
+    private static final Comparator<MethodDescriptor> COMPARATOR =
+            Comparator.comparing((MethodDescriptor descriptor) -> !descriptor.isAnnotated(DbSetupSkipNext.class))
+                    .thenComparing(descriptor -> descriptor.getMethod().getName())
+                    .thenComparing(descriptor -> getParameterTypes(descriptor.getMethod()));
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        context.getMethodDescriptors().sort(COMPARATOR);
+    }
+
+    private static String getParameterTypes(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
+    }
+}
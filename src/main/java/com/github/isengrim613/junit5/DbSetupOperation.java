@@ -41,6 +41,23 @@ import java.lang.annotation.Target;
  * <p>If there are multiple data sources, the {@link #sources()} field can be used to define which data source this
  * operation will be launched on.
  *
+ * <p>Operations can be put in {@link #groups()} to only launch them for the tests selecting one of their groups with
+ * {@link DbSetupGroups}. The other operations are the baseline launched for every test. Consider,
+ * <pre>
+ *     &#064;DbSetupOperation
+ *     Operation insertCustomers1 = insertInto("customer")...;
+ *
+ *     &#064;DbSetupOperation(groups = "orders")
+ *     Operation insertOrders2 = insertInto("order")...;
+ *
+ *     &#064;Test
+ *     &#064;DbSetupGroups("orders")
+ *     void shouldListOrders() { ... }
+ * </pre>
+ *
+ * <p>In this case, only {@code shouldListOrders()} launches both operations, in the order of the operations. The other
+ * tests of the class only launch the customers.
+ *
  * <p>Only fields are allowed because of the same reason why only fields are allowed for {@link DbSetupSource}.
  * Although this is less of an issue for operations as they are only used once, it is still good programming practice
  * to make sure the operation is only instantiated once.
@@ -71,4 +88,14 @@ public @interface DbSetupOperation {
      * @return DataSource names that this operation will be launched on
      */
     String[] sources() default { "DEFAULT" };
+
+    /**
+     * This parameter defines the groups of this operation, selected by tests with {@link DbSetupGroups}.
+     *
+     * <p>An operation without groups is launched for every test. An operation with groups is only launched for the
+     * tests selecting at least one of them. A group can be used by a single test to attach operations to it.
+     *
+     * @return Group names of this operation
+     */
+    String[] groups() default {};
 }
\ No newline at end of file
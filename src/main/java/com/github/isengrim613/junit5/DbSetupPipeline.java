@@ -0,0 +1,140 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Starts launches in the background as soon as a test instance is post processed, so that the JDBC latency of the
+ * launch overlaps with the other extensions and the callbacks running before the test.
+ *
+ * <p>Launches are chained by the {@link DbSetupSourceKey} of their data source: a launch only starts once the previous launch and the
+ * pending {@link DbSetupTeardown}s of its data source are done. A launch that has not started yet when another one is
+ * submitted for the same data source is cancelled, which happens to the outer instance of a {@code @Nested} test since
+ * only the innermost instance runs the test. A launch is forgotten once a test joined it.
+ *
+ * <p>Only the operations without groups are pipelined, the test method being unknown when its instance is post
+ * processed. Every test waits for the pipelined launches of its data sources, and a test selecting groups launches
+ * again afterwards. Test classes with read-only {@link DbSetupInvocations} templates, in them or their
+ * {@code @Nested} classes, are not pipelined, since their invocations must not relaunch.
+ *
+ * <p>Pipelining is turned on by the {@value #PIPELINE_PARAMETER} configuration parameter, and off with parallel
+ * execution, since the data sources of a test are only locked in {@code beforeEach}. Launches run on daemon threads
+ * owned by the instance in the root {@link ExtensionContext.Store}, which JUnit closes when the engine finishes.
+ */
+class DbSetupPipeline implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupPipeline.class.getName());
+    private static final String DB_SETUP_PIPELINE_KEY = "DB_SETUP_PIPELINE";
+
+    static final String PIPELINE_PARAMETER = "dbsetup.pipeline";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "dbsetup-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<DbSetupSourceKey, Future<?>> launches = new HashMap<>();
+
+    /**
+     * Gets the pipeline of the current engine run, creating it in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The pipeline, or null if the {@value #PIPELINE_PARAMETER} configuration parameter is not {@code true} or
+     *         tests run in parallel
+     */
+    static DbSetupPipeline get(ExtensionContext context) {
+        if (!context.getConfigurationParameter(PIPELINE_PARAMETER).map(Boolean::parseBoolean).orElse(false)) {
+            return null;
+        }
+        if (DbSetupSourceLocks.get(context) != null) {
+            LOGGER.log(Level.FINE, "Launches are not pipelined with parallel execution");
+            return null;
+        }
+
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(DbSetupPipeline.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_PIPELINE_KEY, key -> new DbSetupPipeline(), DbSetupPipeline.class);
+    }
+
+    /**
+     * Starts a launch after the previous launch and teardown of its data source.
+     *
+     * @param key The key of the data source launched on
+     * @param teardowns The teardowns to wait for, whose failures are left to the test
+     * @param launch The launch
+     * @return The launch, cancelled if superseded before it started
+     */
+    synchronized <T> Future<T> submit(DbSetupSourceKey key, DbSetupTeardowns teardowns, Callable<T> launch) {
+        Future<?> previous = launches.get(key);
+        if (previous != null && previous.cancel(false)) {
+            LOGGER.log(Level.FINE, "Superseded pipelined launch on {0}", key);
+        }
+
+        Future<T> future = executor.submit(() -> {
+            if (previous != null && !previous.isCancelled()) {
+                try {
+                    previous.get();
+                }
+                catch (Exception e) {
+                    // reported by the test owning the previous launch
+                }
+            }
+            teardowns.join(key);
+            return launch.call();
+        });
+        launches.put(key, future);
+        return future;
+    }
+
+    /**
+     * Waits for the last launch submitted for a data source, if any, leaving its failure to the test owning it.
+     *
+     * @param key The key of the data source about to be launched on
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    void join(DbSetupSourceKey key) throws InterruptedException {
+        Future<?> last;
+        synchronized (this) {
+            last = launches.get(key);
+        }
+        if (last == null) {
+            return;
+        }
+
+        try {
+            if (!last.isCancelled()) {
+                last.get();
+            }
+        }
+        catch (ExecutionException e) {
+            LOGGER.log(Level.FINE, "Joined failed pipelined launch", e);
+        }
+        finally {
+            if (last.isDone()) {
+                // the test owning the launch holds its future
+                synchronized (this) {
+                    launches.remove(key, last);
+                }
+            }
+        }
+    }
+
+    synchronized int size() {
+        return launches.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            launches.clear();
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.DeleteAll;
+import com.ninja_squad.dbsetup.operation.Insert;
+import com.ninja_squad.dbsetup.operation.Operation;
+import com.ninja_squad.dbsetup.operation.SqlOperation;
+import com.ninja_squad.dbsetup.operation.Truncate;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Warms up a data source in the background, ahead of the first launch of a test class.
+ *
+ * <p>A warm-up opens a connection, which starts the pool and loads the driver, reads the database metadata, and runs
+ * the operations against a dry run connection. The dry run connection prepares the statements and answers the
+ * parameter metadata lookups of the binder configuration with the real connection, but does not execute, commit or roll
+ * back anything, so the database is left untouched.
+ *
+ * <p>The warm-up is limited to the first prepare of each distinct statement: an operation is abandoned when it
+ * prepares a statement already prepared, or executes its statement a second time, the first row having resolved the
+ * parameter metadata. Only the operations of DbSetup itself are run, others such as {@link DbSetupGeneratedInsert}
+ * and {@link DbSetupSqlScript} would generate or parse their rows a second time, for statements the launch prepares
+ * anyway.
+ *
+ * <p>Warm-ups run on a single daemon thread, owned by the instance in the root {@link ExtensionContext.Store}, which
+ * JUnit closes when the engine finishes. Failures are logged and otherwise ignored, the launch reports them anyway.
+ */
+class DbSetupPrewarmer implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupPrewarmer.class.getName());
+    private static final String DB_SETUP_PREWARMER_KEY = "DB_SETUP_PREWARMER";
+
+    static final String PREWARM_PARAMETER = "dbsetup.prewarm";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dbsetup-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Gets the prewarmer of the current engine run, creating it in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The prewarmer, or null if the {@value #PREWARM_PARAMETER} configuration parameter is not {@code true}
+     */
+    static DbSetupPrewarmer get(ExtensionContext context) {
+        if (!context.getConfigurationParameter(PREWARM_PARAMETER).map(Boolean::parseBoolean).orElse(false)) {
+            return null;
+        }
+
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(DbSetupPrewarmer.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_PREWARMER_KEY, key -> new DbSetupPrewarmer(), DbSetupPrewarmer.class);
+    }
+
+    /**
+     * Starts warming up a data source for an operation.
+     *
+     * @param dataSource The data source the operations will be launched on
+     * @param operations The operations to prepare, in launch order
+     * @param binderConfiguration The binder configuration the operations will be launched with
+     * @return The warm-up, which never completes exceptionally
+     */
+    Future<?> prewarm(DataSource dataSource, List<Operation> operations, BinderConfiguration binderConfiguration) {
+        return executor.submit(() -> {
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection()) {
+                connection.getMetaData().getDatabaseProductName();
+                Connection dryRun = proxy(Connection.class, new DryRunHandler(connection));
+                for (Operation operation : OptimizedOperation.flatten(operations)) {
+                    if (!isDbSetupOperation(operation)) {
+                        LOGGER.log(Level.FINE, "Not prewarming {0}", operation);
+                        continue;
+                    }
+                    try {
+                        operation.execute(dryRun, binderConfiguration);
+                    }
+                    catch (DryRunDone e) {
+                        // its statement is prepared
+                    }
+                }
+                LOGGER.log(Level.FINE, "Prewarmed {0} in {1}ms",
+                        new Object[] { dataSource, DbSetupReport.millis(System.nanoTime() - start) });
+            }
+            catch (Throwable t) {
+                LOGGER.log(Level.FINE, "Cannot prewarm " + dataSource, t);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static boolean isDbSetupOperation(Operation operation) {
+        return operation instanceof Insert || operation instanceof SqlOperation || operation instanceof DeleteAll ||
+                operation instanceof Truncate;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(DbSetupPrewarmer.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int[].class) {
+            return new int[0];
+        }
+        if (type == long[].class) {
+            return new long[0];
+        }
+        return null;
+    }
+
+    /**
+     * Prepares statements on the real connection, and ignores everything that could change the database.
+     */
+    private static class DryRunHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Set<String> prepared = new HashSet<>();
+
+        DryRunHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    checkFirstPrepare((String) args[0]);
+                    return proxy(PreparedStatement.class,
+                            new DryRunStatementHandler(DbSetupPrewarmer.invoke(connection, method, args)));
+                case "prepareCall":
+                    checkFirstPrepare((String) args[0]);
+                    return proxy(CallableStatement.class,
+                            new DryRunStatementHandler(DbSetupPrewarmer.invoke(connection, method, args)));
+                case "createStatement":
+                    return proxy(Statement.class,
+                            new DryRunStatementHandler(DbSetupPrewarmer.invoke(connection, method, args)));
+                case "getMetaData":
+                case "getAutoCommit":
+                case "getCatalog":
+                case "getSchema":
+                case "isClosed":
+                case "isReadOnly":
+                case "unwrap":
+                case "isWrapperFor":
+                    return DbSetupPrewarmer.invoke(connection, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "DryRun " + connection;
+                default:
+                    // commit, rollback, setAutoCommit, close and anything else with side effects
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private void checkFirstPrepare(String sql) throws DryRunDone {
+            if (!prepared.add(sql)) {
+                throw new DryRunDone();
+            }
+        }
+    }
+
+    private static class DryRunStatementHandler implements InvocationHandler {
+        private final Object statement;
+        private boolean executed;
+
+        DryRunStatementHandler(Object statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("addBatch")) {
+                // the next rows of a prepared statement would only be bound for nothing
+                if (executed && statement instanceof PreparedStatement) {
+                    throw new DryRunDone();
+                }
+                executed = true;
+                return defaultValue(method.getReturnType());
+            }
+            if (name.equals("clearBatch")) {
+                return null;
+            }
+            return DbSetupPrewarmer.invoke(statement, method, args);
+        }
+    }
+
+    /**
+     * Abandons the dry run of an operation, its statement being prepared already.
+     */
+    private static class DryRunDone extends SQLException {
+        DryRunDone() {
+            super("Dry run done");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Suite-level summary of every {@link DbSetupOperation} launch made by {@link DbSetupExtension}.
+ *
+ * <p>One instance lives in the root {@link ExtensionContext.Store} and is closed by JUnit when the engine finishes.
+ * On close, the top N slowest fixtures (a fixture being a test class and {@link DbSetupSource} pair) and the skip hit
+ * rate are logged and, if the {@value #FILE_PARAMETER} configuration parameter is set, written to that file. A file
+ * ending with {@code .csv} is written as CSV, anything else as JSON.
+ *
+ * <p>The number of fixtures in the summary can be set with the {@value #TOP_PARAMETER} configuration parameter. It
+ * defaults to {@value #DEFAULT_TOP}.
+ */
+class DbSetupReport implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupReport.class.getName());
+    private static final String DB_SETUP_REPORT_KEY = "DB_SETUP_REPORT";
+
+    static final String FILE_PARAMETER = "dbsetup.report.file";
+    static final String TOP_PARAMETER = "dbsetup.report.top";
+    static final int DEFAULT_TOP = 10;
+
+    private final Path file;
+    private final int top;
+    private final Map<String, FixtureStatistics> fixtures = new LinkedHashMap<>();
+
+    DbSetupReport(Path file, int top) {
+        this.file = file;
+        this.top = top;
+    }
+
+    /**
+     * Gets the report of the current engine run, creating it in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The report of the current engine run
+     */
+    static DbSetupReport get(ExtensionContext context) {
+        ExtensionContext root = context.getRoot();
+        ExtensionContext.Store store = root.getStore(ExtensionContext.Namespace.create(DbSetupReport.class));
+
+        return store.getOrComputeIfAbsent(DB_SETUP_REPORT_KEY, key -> {
+            Path file = root.getConfigurationParameter(FILE_PARAMETER).map(Paths::get).orElse(null);
+            int top = root.getConfigurationParameter(TOP_PARAMETER).map(Integer::parseInt).orElse(DEFAULT_TOP);
+            return new DbSetupReport(file, top);
+        }, DbSetupReport.class);
+    }
+
+    /**
+     * Records a single launch, or skipped launch, of a fixture.
+     *
+     * @param testClass The test class that declared the fixture
+     * @param source The name of the {@link DbSetupSource} the fixture was launched on
+     * @param durationNanos Wall time spent in the launch
+     * @param skipped Whether the launch was skipped by the tracker
+     * @param jdbcStatistics JDBC counters of the launch
+     */
+    synchronized void record(Class<?> testClass, String source, long durationNanos, boolean skipped,
+                             DbSetupJdbcStatistics jdbcStatistics) {
+        String key = testClass.getName() + '\u0000' + source;
+        FixtureStatistics statistics = fixtures.computeIfAbsent(key,
+                k -> new FixtureStatistics(testClass.getName(), source));
+
+        statistics.launches++;
+        statistics.totalNanos += durationNanos;
+        statistics.maxNanos = Math.max(statistics.maxNanos, durationNanos);
+        statistics.jdbcStatistics.add(jdbcStatistics);
+        if (skipped) {
+            statistics.skipped++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Writes the summary when the engine finishes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        long launches = 0;
+        long skipped = 0;
+        for (FixtureStatistics statistics : fixtures.values()) {
+            launches += statistics.launches;
+            skipped += statistics.skipped;
+        }
+
+        double skipHitRate = launches == 0 ? 0 : (double) skipped / launches;
+        List<FixtureStatistics> slowest = getSlowestFixtures();
+
+        LOGGER.log(Level.FINE, "{0} launches, {1} skipped, slowest fixtures: {2}",
+                new Object[] { launches, skipped, slowest });
+
+        if (file == null) {
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                writeCsv(writer, slowest, launches, skipped, skipHitRate);
+            }
+            else {
+                writeJson(writer, slowest, launches, skipped, skipHitRate);
+            }
+        }
+    }
+
+    private List<FixtureStatistics> getSlowestFixtures() {
+        List<FixtureStatistics> sorted = new ArrayList<>(fixtures.values());
+        sorted.sort(Comparator.comparingLong((FixtureStatistics statistics) -> statistics.totalNanos).reversed());
+
+        return sorted.subList(0, Math.min(top, sorted.size()));
+    }
+
+    private static void writeCsv(Writer writer, List<FixtureStatistics> slowest, long launches, long skipped,
+                                 double skipHitRate) throws IOException {
+        writer.write("testClass,source,launches,skipped,skipHitRate,rows,statementsPrepared,statementsExecuted," +
+                "batches,roundTrips,metadataCalls,totalMillis,maxMillis\n");
+        for (FixtureStatistics statistics : slowest) {
+            DbSetupJdbcStatistics jdbc = statistics.jdbcStatistics;
+            writer.write(CsvLines.quote(statistics.testClass) + ',' + CsvLines.quote(statistics.source) + ',' +
+                    statistics.launches + ',' + statistics.skipped + ',' +
+                    rate(statistics.skipped, statistics.launches) + ',' + jdbc.getRowsAffected() + ',' +
+                    jdbc.getStatementsPrepared() + ',' +
+                    jdbc.getStatementsExecuted() + ',' + jdbc.getBatches() + ',' + jdbc.getRoundTrips() + ',' +
+                    jdbc.getMetadataCalls() + ',' + millis(statistics.totalNanos) + ',' +
+                    millis(statistics.maxNanos) + '\n');
+        }
+        writer.write("TOTAL,," + launches + ',' + skipped + ',' + String.format(Locale.ROOT, "%.4f", skipHitRate) +
+                ",,,,,,,,\n");
+    }
+
+    private static void writeJson(Writer writer, List<FixtureStatistics> slowest, long launches, long skipped,
+                                  double skipHitRate) throws IOException {
+        writer.write("{\n");
+        writer.write("  \"launches\": " + launches + ",\n");
+        writer.write("  \"skipped\": " + skipped + ",\n");
+        writer.write("  \"skipHitRate\": " + String.format(Locale.ROOT, "%.4f", skipHitRate) + ",\n");
+        writer.write("  \"slowestFixtures\": [");
+        for (int i = 0; i < slowest.size(); i++) {
+            FixtureStatistics statistics = slowest.get(i);
+            DbSetupJdbcStatistics jdbc = statistics.jdbcStatistics;
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("    { \"testClass\": " + json(statistics.testClass) +
+                    ", \"source\": " + json(statistics.source) +
+                    ", \"launches\": " + statistics.launches +
+                    ", \"skipped\": " + statistics.skipped +
+                    ", \"rows\": " + jdbc.getRowsAffected() +
+                    ", \"statementsPrepared\": " + jdbc.getStatementsPrepared() +
+                    ", \"statementsExecuted\": " + jdbc.getStatementsExecuted() +
+                    ", \"batches\": " + jdbc.getBatches() +
+                    ", \"roundTrips\": " + jdbc.getRoundTrips() +
+                    ", \"metadataCalls\": " + jdbc.getMetadataCalls() +
+                    ", \"totalMillis\": " + millis(statistics.totalNanos) +
+                    ", \"maxMillis\": " + millis(statistics.maxNanos) + " }");
+        }
+        writer.write(slowest.isEmpty() ? "]\n" : "\n  ]\n");
+        writer.write("}\n");
+    }
+
+    private static String rate(long count, long total) {
+        return String.format(Locale.ROOT, "%.4f", total == 0 ? 0 : (double) count / total);
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String json(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static class FixtureStatistics {
+        private final String testClass;
+        private final String source;
+        private long launches;
+        private long skipped;
+        private final DbSetupJdbcStatistics jdbcStatistics = new DbSetupJdbcStatistics();
+        private long totalNanos;
+        private long maxNanos;
+
+        FixtureStatistics(String testClass, String source) {
+            this.testClass = testClass;
+            this.source = source;
+        }
+
+        @Override
+        public String toString() {
+            return testClass + " [" + source + "] " + millis(totalNanos) + "ms";
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Leases a schema from a pool for the whole JVM, so that the surefire forks of a build share one database server
+ * without sharing tables.
+ *
+ * <p>Every schema of a pool has a lock file in the {@value #DIRECTORY_PARAMETER} directory, which defaults to
+ * {@code dbsetup-leases} in the temporary directory. A fork leases the first schema whose file it can lock, and keeps
+ * it until the test engine finishes. The operating system releases the lock of a fork that dies, so a crashed fork
+ * never keeps its schema. When every schema is leased, the fork waits for one up to {@value #TIMEOUT_PARAMETER}
+ * milliseconds, {@value #DEFAULT_TIMEOUT_MILLIS} by default.
+ *
+ * <p>A schema is not reset when it is handed back, the launches of the next fork reset the tables they use.
+ *
+ * <p>One instance lives in the root {@link ExtensionContext.Store} and is closed by JUnit when the engine finishes,
+ * which releases the leases.
+ */
+class DbSetupSchemaLeases implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupSchemaLeases.class.getName());
+    private static final String DB_SETUP_SCHEMA_LEASES_KEY = "DB_SETUP_SCHEMA_LEASES";
+    private static final long RETRY_MILLIS = 100;
+
+    static final String SCHEMA_PLACEHOLDER = "{schema}";
+    static final String DIRECTORY_PARAMETER = "dbsetup.lease.directory";
+    static final String TIMEOUT_PARAMETER = "dbsetup.lease.timeoutMillis";
+    static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+
+    private final Path directory;
+    private final long timeoutMillis;
+    private final Map<String, Lease> leases = new HashMap<>();
+
+    DbSetupSchemaLeases(Path directory, long timeoutMillis) {
+        this.directory = directory;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Gets the leases of the current engine run, creating them in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The leases of the current engine run
+     */
+    static DbSetupSchemaLeases get(ExtensionContext context) {
+        ExtensionContext root = context.getRoot();
+        ExtensionContext.Store store = root.getStore(ExtensionContext.Namespace.create(DbSetupSchemaLeases.class));
+
+        return store.getOrComputeIfAbsent(DB_SETUP_SCHEMA_LEASES_KEY, key -> {
+            Path directory = root.getConfigurationParameter(DIRECTORY_PARAMETER).map(Paths::get)
+                    .orElseGet(() -> Paths.get(System.getProperty("java.io.tmpdir"), "dbsetup-leases"));
+            long timeoutMillis = root.getConfigurationParameter(TIMEOUT_PARAMETER).map(Long::parseLong)
+                    .orElse(DEFAULT_TIMEOUT_MILLIS);
+            return new DbSetupSchemaLeases(directory, timeoutMillis);
+        }, DbSetupSchemaLeases.class);
+    }
+
+    /**
+     * Leases a schema of a pool, once per JVM.
+     *
+     * @param pool The name of the pool, such as the url the schema is used in
+     * @param schemas The schemas of the pool
+     * @return The leased schema, the same for every call with the same pool
+     * @throws IllegalStateException If no schema was free before the timeout
+     */
+    synchronized String lease(String pool, List<String> schemas) {
+        Lease lease = leases.get(pool);
+        if (lease != null) {
+            return lease.schema;
+        }
+
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        try {
+            Files.createDirectories(directory);
+            while (true) {
+                for (String schema : schemas) {
+                    lease = tryLease(pool, schema);
+                    if (lease != null) {
+                        LOGGER.log(Level.FINE, "Leased schema {0} of {1}", new Object[] { schema, pool });
+                        leases.put(pool, lease);
+                        return schema;
+                    }
+                }
+
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No schema of " + schemas + " was free within " + timeoutMillis +
+                            "ms, in " + directory);
+                }
+                Thread.sleep(RETRY_MILLIS);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Cannot lease a schema in " + directory, e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while leasing a schema of " + schemas, e);
+        }
+    }
+
+    private Lease tryLease(String pool, String schema) throws IOException {
+        Path file = getLockFile(pool, schema);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new Lease(schema, channel);
+            }
+        }
+        catch (OverlappingFileLockException e) {
+            // leased by another pool of this JVM
+        }
+        channel.close();
+        return null;
+    }
+
+    Path getLockFile(String pool, String schema) {
+        return directory.resolve(Integer.toHexString(pool.hashCode()) + '-' + schema.replaceAll("[^\\w.-]", "_") +
+                ".lock");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Hands the schemas back when the engine finishes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (Lease lease : leases.values()) {
+            LOGGER.log(Level.FINE, "Releasing schema {0}", lease.schema);
+            // closing the channel releases the lock
+            lease.channel.close();
+        }
+        leases.clear();
+    }
+
+    private static class Lease {
+        private final String schema;
+        private final FileChannel channel;
+
+        Lease(String schema, FileChannel channel) {
+            this.schema = schema;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>This annotation adds a SQL script to the operations launched against the {@link DbSetupSource} DataSource.
+ *
+ * <p>The script is executed by a {@link DbSetupSqlScript}, which reads it a statement at a time and executes the
+ * statements in JDBC batches, so large dumps never have to fit in memory.
+ *
+ * <p>Scripts are ordered with the {@link DbSetupOperation}s by {@link #order()}. At the same order, operations run
+ * before scripts, and scripts run in declaration order. Consider,
+ * <pre>
+ *     &#064;DbSetup
+ *     &#064;DbSetupScript(value = "classpath:fixtures/dump.sql", order = 2)
+ *     class MyTest {
+ *         &#064;DbSetupOperation
+ *         Operation delete1 = deleteAllFrom("my_table");
+ *
+ *         &#064;DbSetupOperation
+ *         Operation insert3 = insertInto("my_table")...;
+ *     }
+ * </pre>
+ *
+ * <p>In this case, the dump is executed after the delete and before the insert.
+ *
+ * <p>The annotation can be repeated, and is inherited by subclasses and {@code @Nested} classes.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+@Repeatable(DbSetupScripts.class)
+public @interface DbSetupScript {
+    /**
+     * Location of the script, {@code classpath:} followed by the name of a resource, or the path of a file.
+     *
+     * <p>If the script does not exist, an exception will be thrown during parsing.
+     *
+     * @return The location of the script
+     */
+    String value();
+
+    /**
+     * This defines the order of the script among the {@link DbSetupOperation}s and other scripts.
+     *
+     * @return The order of the script
+     */
+    int order();
+
+    /**
+     * This parameter defines the {@link DbSetupSource}s that this script will be launched on, see
+     * {@link DbSetupOperation#sources()}.
+     *
+     * @return DataSource names that this script will be launched on
+     */
+    String[] sources() default { "DEFAULT" };
+
+    /**
+     * This parameter defines the groups of this script, see {@link DbSetupOperation#groups()}.
+     *
+     * @return Group names of this script
+     */
+    String[] groups() default {};
+
+    /**
+     * Number of statements per JDBC batch.
+     *
+     * @return The number of statements per batch
+     */
+    int batchSize() default DbSetupSqlScript.DEFAULT_BATCH_SIZE;
+}
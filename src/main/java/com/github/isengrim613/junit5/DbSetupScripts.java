@@ -0,0 +1,20 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of repeated {@link DbSetupScript}s.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface DbSetupScripts {
+    /**
+     * @return The scripts
+     */
+    DbSetupScript[] value();
+}
@@ -28,6 +28,15 @@ import java.lang.annotation.Target;
  *     &#064;DbSetupSource
  *     DataSource dataSource = new DataSource() { ... };
  * </pre>
+ *
+ * <p>Instead of creating the DataSource in the test, the extension can manage it when {@link #url()} or
+ * {@link #configuration()} is set. A pooled DataSource is then created once per JVM for each url and user, shared
+ * across test classes, injected into the field before the first launch, and closed when the test run ends. The field
+ * must not be final.
+ * <pre>
+ *     &#064;DbSetupSource(url = "jdbc:h2:mem:test", user = "sa")
+ *     static DataSource dataSource;
+ * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.FIELD })
@@ -47,4 +56,109 @@ public @interface DbSetupSource {
      * @return The name of the data source
      */
     String name() default "DEFAULT";
+
+    /**
+     * JDBC url of a DataSource managed by the extension.
+     *
+     * <p>When empty, and {@link #configuration()} is empty too, the field must be assigned by the test.
+     *
+     * @return The JDBC url of the managed DataSource
+     */
+    String url() default "";
+
+    /**
+     * User of the managed DataSource, ignored if {@link #url()} is empty.
+     *
+     * @return The user of the managed DataSource
+     */
+    String user() default "";
+
+    /**
+     * Password of the managed DataSource, ignored if {@link #url()} is empty.
+     *
+     * @return The password of the managed DataSource
+     */
+    String password() default "";
+
+    /**
+     * Prefix of the JUnit configuration parameters of a DataSource managed by the extension.
+     *
+     * <p>The url, user and password are read from the {@code <prefix>.url}, {@code <prefix>.user} and
+     * {@code <prefix>.password} configuration parameters, eg. {@code dbsetup.datasource.main.url} for
+     * {@code configuration = "dbsetup.datasource.main"}. This keeps credentials out of the test code. Only one of
+     * {@link #url()} and this parameter can be set.
+     *
+     * @return The prefix of the configuration parameters of the managed DataSource
+     */
+    String configuration() default "";
+
+    /**
+     * Pool of pre-seeded schemas the managed DataSource leases one from, for the whole JVM.
+     *
+     * <p>When surefire runs with {@code forkCount} greater than 1, the forks sharing one database server each lease a
+     * different schema, which replaces the {@code {schema}} placeholder of the url. Leases are coordinated through
+     * lock files on the local disk, and handed back when the test run ends or the fork dies. With
+     * {@link #configuration()}, the pool is read from the comma separated {@code <prefix>.schemas} configuration
+     * parameter instead.
+     * <pre>
+     *     &#064;DbSetupSource(url = "jdbc:postgresql://localhost/test?currentSchema={schema}",
+     *             schemas = { "fork1", "fork2", "fork3" })
+     *     static DataSource dataSource;
+     * </pre>
+     *
+     * @return The schemas the managed DataSource leases one from
+     */
+    String[] schemas() default {};
+
+    /**
+     * Whether foreign key checks are turned off or deferred while the operations are launched on this DataSource.
+     *
+     * <p>Operations can then insert rows in any order, and large fixtures are not checked one row at a time. The
+     * settings are restored when the launch ends, even if it fails. H2, MySQL, MariaDB and PostgreSQL are supported,
+     * other databases are launched unchanged. On PostgreSQL, only constraints declared {@code DEFERRABLE} are deferred.
+     *
+     * <p>H2 and MySQL do not check the rows inserted meanwhile when the checks are turned back on, so a fixture
+     * breaking a foreign key loads without error.
+     *
+     * @return Whether constraints are deferred during launches
+     */
+    boolean deferConstraints() default false;
+
+    /**
+     * Whether launches on this DataSource are cached on disk, when the {@code dbsetup.cache.directory} configuration
+     * parameter is set.
+     *
+     * <p>The first launch of some operations saves the whole H2 database it produces, and later launches of the same
+     * operations, even in a later test run, restore it instead of executing them. Restoring replaces every table of the
+     * database, including the tables the operations never touch, and only the schema of the database before the launch
+     * is part of the cache key, not its rows. Only cache a DataSource whose database is entirely set up by the
+     * operations, such as one where the operations delete every table they insert into and nothing else is stored.
+     *
+     * @return Whether launches are cached
+     */
+    boolean cached() default false;
+
+    /**
+     * Time budget of a launch on this DataSource, in milliseconds, overriding {@link DbSetup#budgetMillis()}.
+     *
+     * <p>When negative, the budget of {@link DbSetup} applies.
+     *
+     * @return The time budget of a launch
+     */
+    long budgetMillis() default -1;
+
+    /**
+     * Whether this DataSource holds reference data that no test modifies, such as countries or currencies.
+     *
+     * <p>The operations of an immutable DataSource are launched once per JVM, by the first test using it, instead of
+     * before each test. Tests of other classes share the launch if their operations and binder configuration are
+     * equal, and fail otherwise. The field is set to a read-only view of the DataSource, whose statements reject any
+     * SQL but queries, so the data cannot drift. Tests running in parallel share it without locking it.
+     *
+     * <p>Operations of an immutable DataSource cannot have {@link DbSetupOperation#groups()}, it cannot have
+     * {@link DbSetupTeardown}s, and its field must not be final.
+     *
+     * @return Whether the DataSource is launched once and only read by tests
+     */
+    boolean immutable() default false;
 }
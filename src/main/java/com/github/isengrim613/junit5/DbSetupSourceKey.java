@@ -0,0 +1,67 @@
+package com.github.isengrim613.junit5;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+
+import static org.junit.platform.commons.util.ReflectionUtils.isStatic;
+
+/**
+ * <p>Identifies the database behind a {@link DbSetupSource}, the same for every test instance using it.
+ *
+ * <p>Managed data sources and data sources in static fields are the same instance for every test, so they are
+ * identified by instance, and two fields sharing the instance share the key. A data source in an instance field is
+ * usually a new instance for each test instance, so it is identified by its field instead, which does not keep the
+ * instance alive either.
+ */
+final class DbSetupSourceKey {
+    private final DataSource dataSource;
+    private final String field;
+
+    private DbSetupSourceKey(DataSource dataSource, String field) {
+        this.dataSource = dataSource;
+        this.field = field;
+    }
+
+    /**
+     * @param field The {@link DbSetupSource} field
+     * @param dataSource The value of the field, or its unwrapped data source
+     * @return The key of the database behind the field
+     */
+    static DbSetupSourceKey of(Field field, DataSource dataSource) {
+        DataSource unwrapped = DbSetupImmutableSources.unwrap(dataSource);
+        if (unwrapped instanceof ManagedDataSource || isStatic(field)) {
+            return of(unwrapped);
+        }
+        return new DbSetupSourceKey(null, field.getDeclaringClass().getName() + '#' + field.getName());
+    }
+
+    /**
+     * @param dataSource The data source, not its read-only view
+     * @return The key of the data source instance
+     */
+    static DbSetupSourceKey of(DataSource dataSource) {
+        return new DbSetupSourceKey(dataSource, null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DbSetupSourceKey other = (DbSetupSourceKey) o;
+        return dataSource != null ? dataSource == other.dataSource : field.equals(other.field);
+    }
+
+    @Override
+    public int hashCode() {
+        return dataSource != null ? System.identityHashCode(dataSource) : field.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return dataSource != null ? dataSource.toString() : field;
+    }
+}
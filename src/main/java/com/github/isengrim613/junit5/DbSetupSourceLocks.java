@@ -0,0 +1,138 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Exclusive locks on data sources, so that tests running in parallel never set up or use the same data source at
+ * the same time, while tests on different data sources still run concurrently.
+ *
+ * <p>Data sources are locked by {@link DbSetupSourceKey}, so two {@link DbSetupSource}s with the same DataSource
+ * instance, such as a managed data source of the same url, share a lock, and so do the test instances of a data source
+ * in an instance field. Locks are always taken in the order they were created, so two tests locking the same data
+ * sources cannot deadlock. A lock is dropped once no test holds or waits for it.
+ *
+ * <p>The registry lives in the root {@link ExtensionContext.Store}. JUnit cannot be told about these locks, the
+ * worker thread of a test simply waits for them.
+ */
+class DbSetupSourceLocks {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupSourceLocks.class.getName());
+    private static final String DB_SETUP_SOURCE_LOCKS_KEY = "DB_SETUP_SOURCE_LOCKS";
+
+    static final String PARALLEL_PARAMETER = "junit.jupiter.execution.parallel.enabled";
+
+    private final Map<Object, Lock> locks = new HashMap<>();
+    private int created;
+
+    /**
+     * Gets the locks of the current engine run, creating them in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The locks, or null if the {@value #PARALLEL_PARAMETER} configuration parameter is not {@code true}
+     */
+    static DbSetupSourceLocks get(ExtensionContext context) {
+        if (!context.getConfigurationParameter(PARALLEL_PARAMETER).map(Boolean::parseBoolean).orElse(false)) {
+            return null;
+        }
+
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(DbSetupSourceLocks.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_SOURCE_LOCKS_KEY, key -> new DbSetupSourceLocks(),
+                DbSetupSourceLocks.class);
+    }
+
+    /**
+     * Locks data sources, waiting for the tests holding them.
+     *
+     * @param keys The keys of the data sources to lock, such as {@link DbSetupSourceKey}s, in any order and possibly
+     *             repeated
+     * @return The held locks, to close to release them
+     * @throws InterruptedException If the thread is interrupted while waiting, in which case no lock is held
+     */
+    Held lock(List<?> keys) throws InterruptedException {
+        List<Lock> sortedLocks = new ArrayList<>();
+        synchronized (this) {
+            for (Object key : keys) {
+                Lock lock = locks.computeIfAbsent(key, k -> new Lock(k, created++));
+                if (!sortedLocks.contains(lock)) {
+                    lock.users++;
+                    sortedLocks.add(lock);
+                }
+            }
+        }
+        sortedLocks.sort(Comparator.comparingInt(lock -> lock.order));
+
+        Held held = new Held(sortedLocks);
+        try {
+            for (Lock lock : sortedLocks) {
+                LOGGER.log(Level.FINE, "Locking {0}", lock.key);
+                lock.semaphore.acquire();
+                held.acquired++;
+            }
+        }
+        catch (InterruptedException e) {
+            held.close();
+            throw e;
+        }
+        return held;
+    }
+
+    /**
+     * Drops the locks no test holds or waits for anymore.
+     */
+    private synchronized void release(List<Lock> released) {
+        for (Lock lock : released) {
+            if (--lock.users == 0) {
+                locks.remove(lock.key, lock);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return locks.size();
+    }
+
+    private static class Lock {
+        private final Object key;
+        private final int order;
+        // not owned by a thread, JUnit may release it from another thread than the one which took it
+        private final Semaphore semaphore = new Semaphore(1);
+        // the tests holding or waiting for the lock, guarded by the registry
+        private int users;
+
+        Lock(Object key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Locks held by a test, released when JUnit closes the store of the test.
+     */
+    class Held implements ExtensionContext.Store.CloseableResource {
+        private final List<Lock> locks;
+        private int acquired;
+
+        Held(List<Lock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            for (int i = acquired - 1; i >= 0; i--) {
+                LOGGER.log(Level.FINE, "Unlocking {0}", locks.get(i).key);
+                locks.get(i).semaphore.release();
+            }
+            acquired = 0;
+            release(locks);
+            locks.clear();
+        }
+    }
+}
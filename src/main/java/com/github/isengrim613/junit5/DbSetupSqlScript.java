@@ -0,0 +1,302 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>An {@link Operation} executing a SQL script, read and executed a statement at a time, so that scripts of hundreds
+ * of megabytes never have to fit in memory like a {@link com.ninja_squad.dbsetup.Operations#sql(String...)} string.
+ *
+ * <p>The script is read in UTF-8 through a buffered channel, split into statements on semicolons, and the statements
+ * are executed in JDBC batches. Semicolons in quoted strings, quoted identifiers, {@code $$} quoted bodies and
+ * comments do not end a statement. Strings are quoted the standard way, with a single quote written twice inside a
+ * string; backslash escapes are not supported. Comments are not sent to the database.
+ *
+ * <p>The location is either {@code classpath:} followed by the name of a resource, or the path of a file.
+ * <pre>
+ *     DbSetupSqlScript.from("classpath:fixtures/dump.sql");
+ *     DbSetupSqlScript.from("src/test/resources/fixtures/dump.sql", 500);
+ * </pre>
+ *
+ * <p>The {@link BinderConfiguration} is not used, since statements have no parameters.
+ *
+ * <p>Two scripts are equal if they have the same location and batch size. The description also has the size and
+ * modification time of the script, read once when the operation is created, so a fixture cache misses when the script
+ * changes between runs.
+ */
+public final class DbSetupSqlScript implements Operation {
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final String location;
+    private final int batchSize;
+    private final long size;
+    private final long lastModified;
+
+    private DbSetupSqlScript(String location, int batchSize, long size, long lastModified) {
+        this.location = location;
+        this.batchSize = batchSize;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Creates a script operation executing {@value #DEFAULT_BATCH_SIZE} statements per batch.
+     *
+     * @param location {@code classpath:} followed by the name of a resource, or the path of a file
+     * @return The script operation
+     * @see #from(String, int)
+     */
+    public static DbSetupSqlScript from(String location) {
+        return from(location, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a script operation.
+     *
+     * @param location {@code classpath:} followed by the name of a resource, or the path of a file
+     * @param batchSize The number of statements per JDBC batch
+     * @return The script operation
+     * @throws IllegalArgumentException If the script does not exist
+     * @throws UncheckedIOException If the size or modification time of the script cannot be read
+     */
+    public static DbSetupSqlScript from(String location, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        try {
+            if (location.startsWith(CLASSPATH_PREFIX)) {
+                URL resource = getResource(location);
+                if (resource == null) {
+                    throw new IllegalArgumentException("This script does not exist: " + location);
+                }
+                URLConnection connection = resource.openConnection();
+                long size = connection.getContentLengthLong();
+                long lastModified = connection.getLastModified();
+                connection.getInputStream().close();
+                return new DbSetupSqlScript(location, batchSize, size, lastModified);
+            }
+
+            Path file = Paths.get(location);
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("This script does not exist: " + location);
+            }
+            return new DbSetupSqlScript(location, batchSize, Files.size(file),
+                    Files.getLastModifiedTime(file).toMillis());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + location, e);
+        }
+    }
+
+    private static URL getResource(String location) {
+        String name = location.substring(CLASSPATH_PREFIX.length());
+        name = name.startsWith("/") ? name.substring(1) : name;
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        URL resource = classLoader != null ? classLoader.getResource(name) : null;
+        return resource != null ? resource : DbSetupSqlScript.class.getClassLoader().getResource(name);
+    }
+
+    private ReadableByteChannel open() throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            URL resource = getResource(location);
+            if (resource == null) {
+                throw new IOException("This script does not exist: " + location);
+            }
+            InputStream inputStream = resource.openStream();
+            return Channels.newChannel(inputStream);
+        }
+        return Files.newByteChannel(Paths.get(location), StandardOpenOption.READ);
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        try (ReadableByteChannel channel = open();
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), 1 << 16);
+             Statement statement = connection.createStatement()) {
+            int[] pending = { 0 };
+            split(reader, sql -> {
+                try {
+                    statement.addBatch(sql);
+                    if (++pending[0] == batchSize) {
+                        statement.executeBatch();
+                        pending[0] = 0;
+                    }
+                }
+                catch (SQLException e) {
+                    // stops reading the script
+                    throw new StatementFailure(e);
+                }
+            });
+
+            if (pending[0] > 0) {
+                statement.executeBatch();
+            }
+        }
+        catch (StatementFailure e) {
+            throw e.getCause();
+        }
+        catch (IOException e) {
+            throw new SQLException("Cannot read " + location, e);
+        }
+    }
+
+    /**
+     * Splits SQL into statements, without comments, blank statements and the semicolons ending them.
+     *
+     * @param reader The SQL, read in chunks
+     * @param statements Receives the statements in order
+     * @throws IOException If the SQL cannot be read
+     */
+    static void split(Reader reader, Consumer<String> statements) throws IOException {
+        StringBuilder statement = new StringBuilder();
+        char[] buffer = new char[8192];
+        State state = State.CODE;
+        char previous = 0;
+
+        int length;
+        while ((length = reader.read(buffer)) >= 0) {
+            for (int i = 0; i < length; i++) {
+                char c = buffer[i];
+                switch (state) {
+                    case CODE:
+                        if (c == '-' && previous == '-') {
+                            statement.setLength(statement.length() - 1);
+                            state = State.LINE_COMMENT;
+                            c = 0;
+                        }
+                        else if (c == '*' && previous == '/') {
+                            statement.setLength(statement.length() - 1);
+                            state = State.BLOCK_COMMENT;
+                            c = 0;
+                        }
+                        else if (c == ';') {
+                            flush(statement, statements);
+                            c = 0;
+                        }
+                        else {
+                            statement.append(c);
+                            if (c == '\'') {
+                                state = State.STRING;
+                            }
+                            else if (c == '"') {
+                                state = State.IDENTIFIER;
+                            }
+                            else if (c == '$' && previous == '$') {
+                                state = State.DOLLAR_QUOTE;
+                                c = 0;
+                            }
+                        }
+                        break;
+                    case STRING:
+                        statement.append(c);
+                        // a doubled quote closes and reopens the string, which keeps its content intact
+                        if (c == '\'') {
+                            state = State.CODE;
+                        }
+                        break;
+                    case IDENTIFIER:
+                        statement.append(c);
+                        if (c == '"') {
+                            state = State.CODE;
+                        }
+                        break;
+                    case DOLLAR_QUOTE:
+                        statement.append(c);
+                        if (c == '$' && previous == '$') {
+                            state = State.CODE;
+                            c = 0;
+                        }
+                        break;
+                    case LINE_COMMENT:
+                        if (c == '\n') {
+                            statement.append(c);
+                            state = State.CODE;
+                        }
+                        break;
+                    case BLOCK_COMMENT:
+                        if (c == '/' && previous == '*') {
+                            // keeps tokens around the comment apart
+                            statement.append(' ');
+                            state = State.CODE;
+                            c = 0;
+                        }
+                        break;
+                }
+                previous = c;
+            }
+        }
+
+        flush(statement, statements);
+    }
+
+    private static void flush(StringBuilder statement, Consumer<String> statements) {
+        String sql = statement.toString().trim();
+        statement.setLength(0);
+        if (!sql.isEmpty()) {
+            statements.accept(sql);
+        }
+    }
+
+    private enum State {
+        CODE, STRING, IDENTIFIER, DOLLAR_QUOTE, LINE_COMMENT, BLOCK_COMMENT
+    }
+
+    /**
+     * Carries the failure of a statement out of {@link #split(Reader, Consumer)}.
+     */
+    private static class StatementFailure extends RuntimeException {
+        StatementFailure(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DbSetupSqlScript that = (DbSetupSqlScript) o;
+        return batchSize == that.batchSize && location.equals(that.location);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(location, batchSize);
+    }
+
+    @Override
+    public String toString() {
+        return "DbSetupSqlScript [location=" + location + ", batchSize=" + batchSize + ", size=" + size +
+                ", lastModified=" + lastModified + "]";
+    }
+}
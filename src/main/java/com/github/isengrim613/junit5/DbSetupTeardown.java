@@ -0,0 +1,47 @@
+package com.github.isengrim613.junit5;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Fields annotated will be gathered up and launched in sequence against the {@link DbSetupSource} DataSource after
+ * each test, in the background.
+ *
+ * <p>The field type must be {@link com.ninja_squad.dbsetup.operation.Operation}. A teardown starts when the test ends,
+ * on its own thread and connection, and overlaps with JUnit reporting the test and creating the next test instance.
+ * The next test using the same DataSource waits for it before its own launch, and fails if the teardown failed. The
+ * last teardowns are waited for when the test engine finishes.
+ * <pre>
+ *     &#064;DbSetupOperation
+ *     Operation insertCustomers = insertInto("customer")...;
+ *
+ *     &#064;DbSetupTeardown
+ *     Operation deleteCustomers = deleteAllFrom("customer");
+ * </pre>
+ *
+ * <p>Teardowns are launched in the order of {@link #order()}, and in declaration order for the same order. After a
+ * teardown the next test always launches, even if the test was annotated with {@link DbSetupSkipNext}. The invocations
+ * of a read-only {@link DbSetupInvocations} template share a single teardown, started once they have all run.
+ *
+ * <p>{@code @AfterAll} methods and tests of classes without this DataSource do not wait for the teardowns.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+public @interface DbSetupTeardown {
+    /**
+     * This defines the order of the annotated teardown among the teardowns of the same data source.
+     *
+     * @return The order of the annotated teardown
+     */
+    int order() default 0;
+
+    /**
+     * This parameter defines the {@link DbSetupSource}s that this teardown will be launched on, see
+     * {@link DbSetupOperation#sources()}.
+     *
+     * @return DataSource names that this teardown will be launched on
+     */
+    String[] sources() default { "DEFAULT" };
+}
@@ -0,0 +1,181 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Runs the {@link DbSetupTeardown}s in the background, and makes the next user of their data source wait for them.
+ *
+ * <p>Teardowns are tracked by the {@link DbSetupSourceKey} of their data source, like {@link DbSetupSourceLocks}, so
+ * that the next test waits for them even if its instance has its own data source. A teardown started while the
+ * previous one on the same data source is pending runs after it. A teardown is forgotten once it succeeds, or once
+ * its failure was reported to a test.
+ *
+ * <p>Teardowns run on daemon threads owned by the instance in the root {@link ExtensionContext.Store}, which JUnit
+ * closes when the engine finishes, after waiting for the pending teardowns.
+ */
+class DbSetupTeardowns implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(DbSetupTeardowns.class.getName());
+    private static final String DB_SETUP_TEARDOWNS_KEY = "DB_SETUP_TEARDOWNS";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "dbsetup-teardown");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<DbSetupSourceKey, Teardown> pending = new HashMap<>();
+
+    /**
+     * Gets the teardowns of the current engine run, creating them in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @return The teardowns of the current engine run
+     */
+    static DbSetupTeardowns get(ExtensionContext context) {
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(DbSetupTeardowns.class));
+        return store.getOrComputeIfAbsent(DB_SETUP_TEARDOWNS_KEY, key -> new DbSetupTeardowns(), DbSetupTeardowns.class);
+    }
+
+    /**
+     * Starts a teardown.
+     *
+     * @param key The key of the data source torn down
+     * @param description What is torn down, for the failure message
+     * @param teardown The teardown, which opens its own connection
+     */
+    synchronized void start(DbSetupSourceKey key, String description, Runnable teardown) {
+        Teardown previous = pending.get(key);
+        Teardown started = new Teardown(description);
+        started.future = executor.submit(() -> {
+            if (previous != null) {
+                previous.await();
+            }
+            long start = System.nanoTime();
+            teardown.run();
+            LOGGER.log(Level.FINE, "Tore down {0} in {1}ms",
+                    new Object[] { description, DbSetupReport.millis(System.nanoTime() - start) });
+            // only a failure is kept, for the next test
+            synchronized (this) {
+                pending.remove(key, started);
+            }
+            return null;
+        });
+        pending.put(key, started);
+    }
+
+    /**
+     * Waits for the pending teardown of a data source, if any.
+     *
+     * @param key The key of the data source about to be used
+     * @throws DbSetupRuntimeException If the teardown failed, which is only reported once
+     * @throws InterruptedException If the thread is interrupted while waiting, in which case the teardown is still
+     *                              pending
+     */
+    void await(DbSetupSourceKey key) throws InterruptedException {
+        Teardown teardown;
+        synchronized (this) {
+            teardown = pending.get(key);
+        }
+        if (teardown == null) {
+            return;
+        }
+
+        try {
+            teardown.await();
+        }
+        finally {
+            if (teardown.future.isDone()) {
+                // a failure is reported to a single test
+                synchronized (this) {
+                    pending.remove(key, teardown);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the pending teardown of a data source, if any, leaving its failure to {@link #await(DbSetupSourceKey)}.
+     *
+     * @param key The key of the data source about to be used
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    void join(DbSetupSourceKey key) throws InterruptedException {
+        Teardown teardown;
+        synchronized (this) {
+            teardown = pending.get(key);
+        }
+        if (teardown == null) {
+            return;
+        }
+
+        try {
+            teardown.await();
+        }
+        catch (DbSetupRuntimeException e) {
+            LOGGER.log(Level.FINE, "Joined failed teardown", e);
+        }
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Waits for the pending teardowns, so that the data sources are torn down before the engine finishes.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        List<Teardown> teardowns;
+        synchronized (this) {
+            teardowns = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        try {
+            for (Teardown teardown : teardowns) {
+                try {
+                    teardown.await();
+                }
+                catch (DbSetupRuntimeException e) {
+                    // no test is left to fail
+                    LOGGER.log(Level.WARNING, e.getMessage(), e.getCause());
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Teardown {
+        private final String description;
+        // set before the teardown is published in pending
+        private Future<?> future;
+
+        Teardown(String description) {
+            this.description = description;
+        }
+
+        void await() throws InterruptedException {
+            try {
+                future.get();
+            }
+            catch (ExecutionException e) {
+                throw new DbSetupRuntimeException("Teardown of " + description + " failed", e.getCause());
+            }
+        }
+    }
+}
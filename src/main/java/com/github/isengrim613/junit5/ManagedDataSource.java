@@ -0,0 +1,259 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * <p>A pooled {@link DataSource} created by {@link DbSetupExtension} for a {@link DbSetupSource} with a
+ * {@link DbSetupSource#url()} or {@link DbSetupSource#configuration()}.
+ *
+ * <p>One instance per url and user lives in the root {@link ExtensionContext.Store}, so it is shared by every test
+ * class and closed by JUnit when the engine finishes. Closed connections go back to the pool with their transaction
+ * rolled back and auto commit restored, instead of being closed, which also keeps in-memory databases alive for the
+ * whole run.
+ */
+class ManagedDataSource implements DataSource, ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(ManagedDataSource.class.getName());
+    private static final String MANAGED_DATA_SOURCE_KEY = "DB_SETUP_MANAGED_DATA_SOURCE";
+
+    static final String URL_SUFFIX = ".url";
+    static final String USER_SUFFIX = ".user";
+    static final String PASSWORD_SUFFIX = ".password";
+    static final String SCHEMAS_SUFFIX = ".schemas";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Deque<Connection> idleConnections = new ArrayDeque<>();
+    private boolean closed;
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    ManagedDataSource(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    /**
+     * Gets the managed data source of the annotation, creating it in the root store on first use.
+     *
+     * @param context Any extension context of the current engine run
+     * @param annotation The annotation with a url or configuration
+     * @return The managed data source, or null if the annotation has neither a url nor a configuration
+     */
+    static ManagedDataSource get(ExtensionContext context, DbSetupSource annotation) {
+        if (annotation.url().isEmpty() && annotation.configuration().isEmpty()) {
+            return null;
+        }
+        if (!annotation.url().isEmpty() && !annotation.configuration().isEmpty()) {
+            throw new IllegalArgumentException("@DbSetupSource " + annotation.name() + " cannot have both a url and " +
+                    "a configuration");
+        }
+
+        String url = annotation.url();
+        String user = annotation.user();
+        String password = annotation.password();
+        List<String> schemas = Arrays.asList(annotation.schemas());
+        if (!annotation.configuration().isEmpty()) {
+            String prefix = annotation.configuration();
+            url = context.getConfigurationParameter(prefix + URL_SUFFIX).orElseThrow(() ->
+                    new IllegalArgumentException("Configuration parameter " + prefix + URL_SUFFIX + " is not set"));
+            user = context.getConfigurationParameter(prefix + USER_SUFFIX).orElse("");
+            password = context.getConfigurationParameter(prefix + PASSWORD_SUFFIX).orElse("");
+            schemas = context.getConfigurationParameter(prefix + SCHEMAS_SUFFIX)
+                    .map(value -> Arrays.stream(value.split(",")).map(String::trim).filter(schema -> !schema.isEmpty())
+                            .collect(Collectors.toList()))
+                    .orElse(Collections.emptyList());
+        }
+
+        if (url.contains(DbSetupSchemaLeases.SCHEMA_PLACEHOLDER)) {
+            if (schemas.isEmpty()) {
+                throw new IllegalArgumentException("@DbSetupSource " + annotation.name() + " has a " +
+                        DbSetupSchemaLeases.SCHEMA_PLACEHOLDER + " url but no schemas");
+            }
+            String schema = DbSetupSchemaLeases.get(context).lease(url, schemas);
+            url = url.replace(DbSetupSchemaLeases.SCHEMA_PLACEHOLDER, schema);
+        }
+        else if (!schemas.isEmpty()) {
+            throw new IllegalArgumentException("@DbSetupSource " + annotation.name() + " has schemas but no " +
+                    DbSetupSchemaLeases.SCHEMA_PLACEHOLDER + " in its url");
+        }
+
+        ExtensionContext.Store store = context.getRoot().getStore(ExtensionContext.Namespace.create(ManagedDataSource.class));
+        String finalUrl = url;
+        String finalUser = user;
+        String finalPassword = password;
+        return store.getOrComputeIfAbsent(MANAGED_DATA_SOURCE_KEY + '\u0000' + url + '\u0000' + user, key -> {
+            LOGGER.log(Level.FINE, "Creating managed data source for {0}", finalUrl);
+            return new ManagedDataSource(finalUrl, finalUser, finalPassword);
+        }, ManagedDataSource.class);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        while (true) {
+            Connection connection;
+            synchronized (this) {
+                if (closed) {
+                    throw new SQLException("Managed data source " + url + " is closed");
+                }
+                connection = idleConnections.pollFirst();
+            }
+
+            if (connection == null) {
+                connection = user.isEmpty() ?
+                        DriverManager.getConnection(url) : DriverManager.getConnection(url, user, password);
+            }
+            else if (connection.isClosed()) {
+                continue;
+            }
+
+            return pooled(connection);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // connections of other users are not pooled
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private Connection pooled(Connection connection) {
+        boolean[] released = { false };
+        return (Connection) Proxy.newProxyInstance(ManagedDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!released[0]) {
+                                released[0] = true;
+                                release(connection);
+                            }
+                            return null;
+                        case "isClosed":
+                            return released[0] || connection.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (released[0]) {
+                                throw new SQLException("Connection is closed");
+                            }
+                            return invoke(connection, method, args);
+                    }
+                });
+    }
+
+    private void release(Connection connection) throws SQLException {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+        catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Discarding connection of " + url, e);
+            connection.close();
+            return;
+        }
+
+        synchronized (this) {
+            if (!closed) {
+                idleConnections.addFirst(connection);
+                return;
+            }
+        }
+        connection.close();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Closes the idle connections when the engine finishes. Connections still in use are closed when they are
+     * released.
+     */
+    @Override
+    public void close() throws SQLException {
+        Deque<Connection> connections;
+        synchronized (this) {
+            closed = true;
+            connections = new ArrayDeque<>(idleConnections);
+            idleConnections.clear();
+        }
+
+        LOGGER.log(Level.FINE, "Closing {0} connections of {1}", new Object[] { connections.size(), url });
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public String toString() {
+        return "ManagedDataSource [url=" + url + ", user=" + user + "]";
+    }
+}
@@ -0,0 +1,283 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.CompositeOperation;
+import com.ninja_squad.dbsetup.operation.DeleteAll;
+import com.ninja_squad.dbsetup.operation.Insert;
+import com.ninja_squad.dbsetup.operation.Operation;
+import com.ninja_squad.dbsetup.operation.Truncate;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>An {@link Operation} that executes the optimized plan of a sequence of operations, with consecutive inserts of the
+ * same table and columns sent to the database as a single JDBC batch.
+ *
+ * <p>{@link #plan(List)} flattens the {@code sequenceOf} operations and drops the deletes and truncates of a table
+ * that an earlier one already cleared, with only deletes and truncates in between. Operations from an outer class and
+ * from its {@code @Nested} classes often clear the same tables.
+ *
+ * <p>The inserts of DbSetup execute one statement per row. Here, the rows of consecutive inserts preparing the same
+ * SQL, which is the same table and columns, are added to the batch of a single prepared statement, executed before
+ * any other statement. A failing row is therefore reported when the batch is executed, by the operation that comes
+ * after it. Other operations get the connection unchanged.
+ *
+ * <p>When the operations are timed for a {@link DbSetupBudget}, the batch is executed at the end of every insert
+ * instead, so that each insert is charged with its own rows.
+ *
+ * <p>Equality and description are based on the plan, so that the fixture cache still recognizes it.
+ */
+class OptimizedOperation implements Operation {
+    private static final Logger LOGGER = Logger.getLogger(OptimizedOperation.class.getName());
+
+    private final List<Operation> plan;
+    private final long[] nanos;
+
+    /**
+     * @param plan The operations to execute, usually a {@link #plan(List)}
+     * @param nanos Receives the execution time of each operation of the plan, at the same index, or null
+     */
+    OptimizedOperation(List<Operation> plan, long[] nanos) {
+        this.plan = plan;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Optimizes a sequence of operations.
+     *
+     * @param operations The operations, in launch order
+     * @return The operations to execute instead, which leave the database in the same state
+     */
+    static List<Operation> plan(List<Operation> operations) {
+        List<Operation> flattened = flatten(operations);
+
+        List<Operation> plan = new ArrayList<>();
+        // the clears since the last operation that may have added rows
+        Set<Operation> cleared = new HashSet<>();
+        for (Operation operation : flattened) {
+            if (operation instanceof DeleteAll || operation instanceof Truncate) {
+                if (!cleared.add(operation)) {
+                    LOGGER.log(Level.FINE, "Pruned {0}, the table is already empty", operation);
+                    continue;
+                }
+            }
+            else {
+                cleared.clear();
+            }
+            plan.add(operation);
+        }
+        return plan;
+    }
+
+    /**
+     * Flattens the {@code sequenceOf} operations.
+     *
+     * @param operations The operations, in launch order
+     * @return The operations of the sequences, in launch order
+     */
+    static List<Operation> flatten(List<? extends Operation> operations) {
+        List<Operation> flattened = new ArrayList<>();
+        flatten(operations, flattened);
+        return flattened;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flatten(List<? extends Operation> operations, List<Operation> flattened) {
+        for (Operation operation : operations) {
+            if (operation instanceof CompositeOperation) {
+                // This depends on the name of a private field of DbSetup, a composite is kept whole if it changes
+                List<? extends Operation> children = ReflectionUtils.tryToReadFieldValue(CompositeOperation.class,
+                        "operations", (CompositeOperation) operation).toOptional()
+                        .filter(List.class::isInstance)
+                        .map(value -> (List<? extends Operation>) value)
+                        .orElse(null);
+                if (children != null) {
+                    flatten(children, flattened);
+                    continue;
+                }
+            }
+            flattened.add(operation);
+        }
+    }
+
+    @Override
+    public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+        Batch batch = new Batch();
+        try {
+            Connection batching = batching(connection, batch);
+            for (int i = 0; i < plan.size(); i++) {
+                long start = System.nanoTime();
+                if (plan.get(i) instanceof Insert) {
+                    plan.get(i).execute(batching, configuration);
+                    if (nanos != null) {
+                        batch.flush();
+                    }
+                }
+                else {
+                    batch.flush();
+                    plan.get(i).execute(connection, configuration);
+                }
+                if (nanos != null) {
+                    nanos[i] += System.nanoTime() - start;
+                }
+            }
+            batch.flush();
+        }
+        finally {
+            batch.close();
+        }
+    }
+
+    /**
+     * Wraps the connection of an insert so that the statement it prepares adds its rows to the batch, which is
+     * executed before any other use of the connection.
+     */
+    private static Connection batching(Connection connection, Batch batch) {
+        return (Connection) Proxy.newProxyInstance(OptimizedOperation.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "prepareStatement":
+                            if (args.length == 1 && isInsert((String) args[0])) {
+                                return batched(batch.prepare(connection, (String) args[0]), batch);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+
+                    batch.flush();
+                    return invoke(connection, method, args);
+                });
+    }
+
+    /**
+     * Wraps the prepared statement of the batch so that executing it adds a row to the batch, and closing it keeps it
+     * open for the next insert of the same table and columns.
+     */
+    private static PreparedStatement batched(PreparedStatement statement, Batch batch) {
+        boolean[] closed = { false };
+        return (PreparedStatement) Proxy.newProxyInstance(OptimizedOperation.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            closed[0] = true;
+                            return null;
+                        case "isClosed":
+                            return closed[0] || statement.isClosed();
+                        case "executeUpdate":
+                            if (args == null) {
+                                statement.addBatch();
+                                batch.rows++;
+                                return 1;
+                            }
+                            break;
+                        case "getParameterMetaData":
+                        case "clearParameters":
+                            return invoke(statement, method, args);
+                        default:
+                            if (name.startsWith("set")) {
+                                return invoke(statement, method, args);
+                            }
+                            break;
+                    }
+
+                    batch.flush();
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isInsert(String sql) {
+        return sql.trim().toLowerCase(Locale.ROOT).startsWith("insert");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return plan.equals(((OptimizedOperation) o).plan);
+    }
+
+    @Override
+    public int hashCode() {
+        return plan.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizedOperation " + plan;
+    }
+
+    /**
+     * The prepared statement of the last insert, and the rows added to its batch.
+     */
+    private static class Batch {
+        private String sql;
+        private PreparedStatement statement;
+        private int rows;
+
+        PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+            if (statement != null && sql.equals(this.sql)) {
+                return statement;
+            }
+
+            flush();
+            close();
+            this.statement = connection.prepareStatement(sql);
+            this.sql = sql;
+            return statement;
+        }
+
+        void flush() throws SQLException {
+            if (rows > 0) {
+                LOGGER.log(Level.FINE, "Executing batch of {0} rows for {1}", new Object[] { rows, sql });
+                rows = 0;
+                statement.executeBatch();
+            }
+        }
+
+        void close() throws SQLException {
+            if (statement != null) {
+                PreparedStatement statement = this.statement;
+                this.statement = null;
+                this.sql = null;
+                this.rows = 0;
+                statement.close();
+            }
+        }
+    }
+}
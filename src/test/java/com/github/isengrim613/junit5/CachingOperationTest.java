@@ -0,0 +1,114 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingOperationTest {
+    @Test
+    void shouldRestoreSavedDatabaseInsteadOfExecutingOperation() throws Exception {
+        // arrange
+        Path directory = Files.createTempDirectory("dbsetup-cache");
+        CountedOperation firstOperation = new CountedOperation();
+        CountedOperation secondOperation = new CountedOperation();
+
+        // act
+        new DbSetup(new DataSourceDestination(createDataSource("CachingOperationTest1")),
+                new CachingOperation(firstOperation, directory)).launch();
+
+        JdbcDataSource secondDataSource = createDataSource("CachingOperationTest2");
+        new DbSetup(new DataSourceDestination(secondDataSource),
+                new CachingOperation(secondOperation, directory)).launch();
+
+        // assert
+        assertThat(firstOperation.executions).isEqualTo(1);
+        assertThat(secondOperation.executions).isEqualTo(0);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+        assertThat(count(secondDataSource)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheOperationWithoutStableDescription() throws Exception {
+        // arrange
+        Path directory = Files.createTempDirectory("dbsetup-cache");
+        Operation operation = (connection, configuration) -> { };
+
+        // act
+        new DbSetup(new DataSourceDestination(createDataSource("CachingOperationTest3")),
+                new CachingOperation(operation, directory)).launch();
+
+        // assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldBeEqualForSameOperation() {
+        // arrange
+        Operation operation = deleteAllFrom("My_Table");
+
+        // act
+        CachingOperation first = new CachingOperation(operation, null);
+        CachingOperation second = new CachingOperation(deleteAllFrom("My_Table"), null);
+
+        // assert
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+
+    private static JdbcDataSource createDataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+        return dataSource;
+    }
+
+    private static long count(JdbcDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from My_Table")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static class CountedOperation implements Operation {
+        private final Operation operation = sequenceOf(
+                deleteAllFrom("My_Table"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(1, "2")
+                        .values(2, "3")
+                        .build());
+        private int executions;
+
+        @Override
+        public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+            executions++;
+            operation.execute(connection, configuration);
+        }
+
+        @Override
+        public String toString() {
+            return operation.toString();
+        }
+    }
+}
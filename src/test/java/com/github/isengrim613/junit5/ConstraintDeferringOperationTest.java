@@ -0,0 +1,137 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConstraintDeferringOperationTest {
+    private static final Operation CHILD_BEFORE_PARENT = sequenceOf(
+            insertInto("child").columns("id", "parent_id").values(1, 1).build(),
+            insertInto("parent").columns("id").values(1).build());
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ConstraintDeferringOperationTest;DB_CLOSE_DELAY=-1");
+        new DbSetup(new DataSourceDestination(dataSource), sql(
+                "drop table if exists child",
+                "drop table if exists parent",
+                "create table parent (id int primary key)",
+                "create table child (id int primary key, parent_id int references parent(id))")).launch();
+    }
+
+    @Test
+    void shouldInsertRowsInAnyOrderAndRestoreChecks() throws Exception {
+        // act
+        new DbSetup(new DataSourceDestination(dataSource), new ConstraintDeferringOperation(CHILD_BEFORE_PARENT)).launch();
+        Throwable t = catchThrowable(() -> new DbSetup(new DataSourceDestination(dataSource),
+                insertInto("child").columns("id", "parent_id").values(2, 2).build()).launch());
+
+        // assert
+        assertThat(count("child")).isEqualTo(1);
+        assertThat(t).as("checks are restored").isNotNull();
+    }
+
+    @Test
+    void shouldRollBackAndRestoreChecksIfOperationFails() throws Exception {
+        // arrange
+        Operation failing = sequenceOf(CHILD_BEFORE_PARENT, insertInto("parent").columns("id").values(1).build());
+
+        // act
+        Throwable failure = catchThrowable(() ->
+                new DbSetup(new DataSourceDestination(dataSource), new ConstraintDeferringOperation(failing)).launch());
+        Throwable t = catchThrowable(() -> new DbSetup(new DataSourceDestination(dataSource),
+                insertInto("child").columns("id", "parent_id").values(2, 2).build()).launch());
+
+        // assert
+        assertThat(failure).isNotNull();
+        assertThat(count("child")).isEqualTo(0);
+        assertThat(t).as("checks are restored").isNotNull();
+    }
+
+    @Test
+    void shouldKeepH2ReferentialIntegrityOffIfItWasOff() throws Exception {
+        // arrange
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("H2");
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        ResultSet settings = mock(ResultSet.class);
+        when(statement.executeQuery("SELECT * FROM INFORMATION_SCHEMA.SETTINGS")).thenReturn(settings);
+        when(settings.next()).thenReturn(true, false);
+        when(settings.getString(1)).thenReturn("REFERENTIAL_INTEGRITY");
+        when(settings.getString(2)).thenReturn("FALSE");
+        Operation operation = mock(Operation.class);
+
+        // act
+        new ConstraintDeferringOperation(operation).execute(connection, DefaultBinderConfiguration.INSTANCE);
+
+        // assert
+        verify(operation).execute(connection, DefaultBinderConfiguration.INSTANCE);
+        verify(statement, never()).execute(anyString());
+    }
+
+    @Test
+    void shouldRestorePreviousH2ReferentialIntegrity() throws Exception {
+        // arrange
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("H2");
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        ResultSet settings = mock(ResultSet.class);
+        when(statement.executeQuery("SELECT * FROM INFORMATION_SCHEMA.SETTINGS")).thenReturn(settings);
+        when(settings.next()).thenReturn(true, true, false);
+        when(settings.getString(1)).thenReturn("MODE", "REFERENTIAL_INTEGRITY");
+        when(settings.getString(2)).thenReturn("TRUE");
+        Operation operation = mock(Operation.class);
+
+        // act
+        new ConstraintDeferringOperation(operation).execute(connection, DefaultBinderConfiguration.INSTANCE);
+
+        // assert
+        InOrder inOrder = inOrder(statement, operation);
+        inOrder.verify(statement).execute("SET REFERENTIAL_INTEGRITY FALSE");
+        inOrder.verify(operation).execute(connection, DefaultBinderConfiguration.INSTANCE);
+        inOrder.verify(statement).execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Test
+    void shouldBeEqualToSameWrappedOperation() {
+        assertThat(new ConstraintDeferringOperation(CHILD_BEFORE_PARENT))
+                .isEqualTo(new ConstraintDeferringOperation(CHILD_BEFORE_PARENT))
+                .hasSameHashCodeAs(new ConstraintDeferringOperation(CHILD_BEFORE_PARENT));
+    }
+
+    private int count(String table) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingDestinationTest {
+    @Test
+    void shouldCountJdbcCallsOfOperations() {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:CountingDestinationTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+
+        DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+        DbSetup dbSetup = new DbSetup(new CountingDestination(dataSource, statistics), sequenceOf(
+                deleteAllFrom("My_Table"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(1, "2")
+                        .values(2, "3")
+                        .build()));
+
+        // act
+        dbSetup.launch();
+
+        // assert
+        assertThat(statistics.getStatementsPrepared()).isEqualTo(1);
+        assertThat(statistics.getStatementsExecuted()).isEqualTo(3);
+        assertThat(statistics.getBatches()).isEqualTo(0);
+        assertThat(statistics.getRowsAffected()).isEqualTo(2);
+        assertThat(statistics.getMetadataCalls()).isEqualTo(1);
+        assertThat(statistics.getRoundTrips()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldBeEqualForSameDataSource() {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+
+        // act
+        CountingDestination first = new CountingDestination(dataSource, new DbSetupJdbcStatistics());
+        CountingDestination second = new CountingDestination(dataSource, new DbSetupJdbcStatistics());
+
+        // assert
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+}
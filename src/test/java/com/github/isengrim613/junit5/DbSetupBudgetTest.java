@@ -0,0 +1,126 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+class DbSetupBudgetTest {
+    private static final List<Operation> OPERATIONS = Arrays.asList(deleteAllFrom("a"), deleteAllFrom("b"));
+
+    @Test
+    void shouldFailWithBreakdownIfOverBudget() {
+        // arrange
+        DbSetupBudget budget = new DbSetupBudget(true, Collections.emptyMap(), DbSetupBudget.DEFAULT_TOLERANCE);
+
+        // act
+        Throwable t = catchThrowable(() -> budget.check(DbSetupBudgetTest.class, "DEFAULT", 10, 12_000_000,
+                OPERATIONS, new long[] { 9_000_000, 3_000_000 }));
+
+        // assert
+        assertThat(t).isInstanceOf(AssertionFailedError.class)
+                .hasMessageContaining("over its budget of 10ms")
+                .hasMessageContaining("9.000ms delete from a")
+                .hasMessageContaining("3.000ms delete from b");
+    }
+
+    @Test
+    void shouldOnlyLogIfOverBudgetInLogMode() {
+        // arrange
+        DbSetupBudget budget = new DbSetupBudget(false, Collections.emptyMap(), DbSetupBudget.DEFAULT_TOLERANCE);
+
+        // act
+        Throwable t = catchThrowable(() -> budget.check(DbSetupBudgetTest.class, "DEFAULT", 10, 12_000_000,
+                OPERATIONS, new long[2]));
+
+        // assert
+        assertThat(t).isNull();
+    }
+
+    @Test
+    void shouldFailIfSlowerThanBaselineTimesTolerance() throws Exception {
+        // arrange
+        Path file = Files.createTempFile("dbsetup-baseline", ".csv");
+        Files.write(file, ("testClass,source,launches,skipped,rows,statementsPrepared,statementsExecuted,batches," +
+                "roundTrips,metadataCalls,totalMillis,maxMillis\n" +
+                DbSetupBudgetTest.class.getName() + ",DEFAULT,2,0,4,2,2,0,4,2,20.000,10.000\n" +
+                "TOTAL,,2,0,,,,,,,,\n").getBytes(StandardCharsets.UTF_8));
+        Map<String, Double> baseline = DbSetupBudget.readBaseline(file);
+        DbSetupBudget budget = new DbSetupBudget(true, baseline, 2);
+
+        // act
+        Throwable withinTolerance = catchThrowable(() -> budget.check(DbSetupBudgetTest.class, "DEFAULT", -1,
+                19_000_000, OPERATIONS, new long[2]));
+        Throwable regression = catchThrowable(() -> budget.check(DbSetupBudgetTest.class, "DEFAULT", -1,
+                21_000_000, OPERATIONS, new long[2]));
+
+        // assert
+        assertThat(baseline).hasSize(1);
+        assertThat(budget.isChecked(DbSetupBudgetTest.class, "DEFAULT", -1)).isTrue();
+        assertThat(budget.isChecked(DbSetupBudgetTest.class, "other", -1)).isFalse();
+        assertThat(withinTolerance).isNull();
+        assertThat(regression).isInstanceOf(AssertionFailedError.class).hasMessageContaining("baseline of 10.0ms");
+    }
+
+    @Test
+    void shouldRecordTimeOfEachOperation() throws Exception {
+        // arrange
+        long[] nanos = new long[2];
+        List<Operation> operations = Arrays.asList(
+                (connection, configuration) -> {
+                    long end = System.nanoTime() + 5_000_000;
+                    while (System.nanoTime() < end) {
+                        // busy
+                    }
+                },
+                (connection, configuration) -> { });
+
+        // act
+        sequenceOf(DbSetupBudget.time(operations, nanos)).execute(mock(Connection.class), null);
+
+        // assert
+        assertThat(nanos[0]).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(nanos[1]).isLessThan(nanos[0]);
+    }
+
+    @Test
+    void shouldPreferBudgetOfSourceOverBudgetOfOuterClass() throws Exception {
+        // arrange
+        DbSetupSource unbudgeted = Outer.Inner.class.getDeclaredField("dataSource").getAnnotation(DbSetupSource.class);
+        DbSetupSource budgeted = Outer.Inner.class.getDeclaredField("budgetedDataSource").getAnnotation(DbSetupSource.class);
+
+        // act
+        long inherited = DbSetupBudget.getBudgetMillis(Outer.Inner.class, unbudgeted);
+        long overridden = DbSetupBudget.getBudgetMillis(Outer.Inner.class, budgeted);
+
+        // assert
+        assertThat(inherited).isEqualTo(100);
+        assertThat(overridden).isEqualTo(5);
+    }
+
+    @DbSetup(budgetMillis = 100)
+    static class Outer {
+        class Inner {
+            @DbSetupSource
+            DataSource dataSource;
+
+            @DbSetupSource(name = "budgeted", budgetMillis = 5)
+            DataSource budgetedDataSource;
+        }
+    }
+}
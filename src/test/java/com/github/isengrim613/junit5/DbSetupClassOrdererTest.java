@@ -0,0 +1,98 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class DbSetupClassOrdererTest {
+    @Test
+    void shouldRunClassesWithIdenticalOperationsBackToBack() {
+        // arrange
+        List<ClassDescriptor> descriptors = new ArrayList<>();
+        descriptors.add(descriptor(AReferenceData.class));
+        descriptors.add(descriptor(BOtherData.class));
+        descriptors.add(descriptor(CInheritedData.class));
+        descriptors.add(descriptor(DReferenceData.class));
+        descriptors.add(descriptor(EInheritedData.class));
+
+        ClassOrdererContext context = mock(ClassOrdererContext.class);
+        doReturn(descriptors).when(context).getClassDescriptors();
+
+        // act
+        new DbSetupClassOrderer().orderClasses(context);
+
+        // assert
+        assertThat(descriptors.stream().map(descriptor -> descriptor.getTestClass().getSimpleName()).collect(Collectors.toList()))
+                .containsExactly("AReferenceData", "DReferenceData", "BOtherData", "CInheritedData", "EInheritedData");
+    }
+
+    @Test
+    void shouldFingerprintStaticOperationsByValue() {
+        assertThat(DbSetupClassOrderer.getFingerprint(AReferenceData.class))
+                .isEqualTo(DbSetupClassOrderer.getFingerprint(DReferenceData.class))
+                .isNotEqualTo(DbSetupClassOrderer.getFingerprint(BOtherData.class));
+    }
+
+    private static ClassDescriptor descriptor(Class<?> testClass) {
+        ClassDescriptor descriptor = mock(ClassDescriptor.class);
+        doReturn(testClass).when(descriptor).getTestClass();
+        return descriptor;
+    }
+
+    static class AReferenceData {
+        @DbSetupSource
+        static DataSource dataSource;
+
+        @DbSetupOperation
+        static Operation operation0 = deleteAllFrom("country");
+
+        @DbSetupOperation
+        static Operation operation1 = insertInto("country").columns("code").values("SG").build();
+    }
+
+    static class BOtherData {
+        @DbSetupSource
+        static DataSource dataSource;
+
+        @DbSetupOperation
+        static Operation operation0 = deleteAllFrom("country");
+    }
+
+    static class SharedBase {
+        @DbSetupSource
+        DataSource dataSource;
+
+        @DbSetupOperation
+        Operation operation0 = deleteAllFrom("country");
+    }
+
+    static class CInheritedData extends SharedBase {
+    }
+
+    static class DReferenceData {
+        @DbSetupSource
+        static DataSource dataSource;
+
+        // declared in a different order, launched in the same order
+        @DbSetupOperation
+        static Operation operation1 = insertInto("country").columns("code").values("SG").build();
+
+        @DbSetupOperation
+        static Operation operation0 = deleteAllFrom("country");
+    }
+
+    static class EInheritedData extends SharedBase {
+    }
+}
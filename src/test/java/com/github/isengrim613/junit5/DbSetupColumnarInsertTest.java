@@ -0,0 +1,134 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class DbSetupColumnarInsertTest {
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:DbSetupColumnarInsertTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+    }
+
+    @Test
+    void shouldInsertColumnsInBatches() throws Exception {
+        // arrange
+        DbSetupColumnarInsert insert = DbSetupColumnarInsert.into("My_Table")
+                .intColumn("primary_key", 1, 2, 3)
+                .stringColumn("my_value", "a", "b", "a")
+                .batchSize(2)
+                .build();
+
+        // act
+        new DbSetup(new DataSourceDestination(dataSource), sequenceOf(deleteAllFrom("My_Table"), insert)).launch();
+
+        // assert
+        assertThat(insert.getRowCount()).isEqualTo(3);
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "a"), Pair.of(2, "b"), Pair.of(3, "a"));
+    }
+
+    @Test
+    void shouldInsertRowsFromCsv() throws Exception {
+        // arrange
+        DbSetupColumnarInsert insert = DbSetupColumnarInsert.fromCsv("My_Table", new StringReader(
+                "primary_key:int,my_value\n" +
+                "1,\"quoted, \"\"value\"\"\"\n" +
+                "\n" +
+                "2,plain\n"));
+
+        // act
+        new DbSetup(new DataSourceDestination(dataSource), sequenceOf(deleteAllFrom("My_Table"), insert)).launch();
+
+        // assert
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "quoted, \"value\""), Pair.of(2, "plain"));
+    }
+
+    @Test
+    void shouldBeEqualForSameValuesBuiltEitherWay() throws Exception {
+        // arrange
+        DbSetupColumnarInsert byColumn = DbSetupColumnarInsert.into("t")
+                .longColumn("id", 1L, 2L)
+                .doubleColumn("amount", 1.5, 2.5)
+                .stringColumn("name", "a", null)
+                .build();
+
+        // act
+        DbSetupColumnarInsert byRow = DbSetupColumnarInsert.into("t")
+                .longColumn("id")
+                .doubleColumn("amount")
+                .stringColumn("name")
+                .values(1L, 1.5, "a")
+                .values(2, 2.5, null)
+                .build();
+        DbSetupColumnarInsert byCsv = DbSetupColumnarInsert.fromCsv("t", new StringReader(
+                "id:long,amount:double,name:string\n1,1.5,a\n2,2.5,\n"));
+
+        // assert
+        assertThat(byRow).isEqualTo(byColumn).isEqualTo(byCsv);
+        assertThat(byRow.hashCode()).isEqualTo(byColumn.hashCode()).isEqualTo(byCsv.hashCode());
+        assertThat(byRow.toString()).isEqualTo(byColumn.toString()).isEqualTo(byCsv.toString());
+    }
+
+    @Test
+    void shouldDescribeValuesWithSameHashCodeDifferently() {
+        // arrange
+        DbSetupColumnarInsert first = DbSetupColumnarInsert.into("t").intColumn("id", 0, 31).build();
+        DbSetupColumnarInsert second = DbSetupColumnarInsert.into("t").intColumn("id", 1, 0).build();
+
+        // assert
+        assertThat(first).isNotEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first.toString()).isNotEqualTo(second.toString());
+    }
+
+    @Test
+    void shouldThrowIfColumnsHaveDifferentSizes() {
+        // act
+        Throwable t = catchThrowable(() -> DbSetupColumnarInsert.into("t")
+                .intColumn("id", 1, 2)
+                .stringColumn("name", "a")
+                .build());
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldThrowIfRowIsAppendedBeforeAnyColumn() {
+        // act
+        Throwable t = catchThrowable(() -> DbSetupColumnarInsert.into("t").values());
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessage("Insert into t has no columns");
+    }
+
+    @Test
+    void shouldThrowIfBuiltWithoutColumns() {
+        // act
+        Throwable t = catchThrowable(() -> DbSetupColumnarInsert.into("t").build());
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessage("Insert into t has no columns");
+    }
+
+    @Test
+    void shouldThrowIfCsvLineHasWrongNumberOfFields() {
+        // act
+        Throwable t = catchThrowable(() -> DbSetupColumnarInsert.fromCsv("t", new StringReader("id:int,name\n1\n")));
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Line 2");
+    }
+}
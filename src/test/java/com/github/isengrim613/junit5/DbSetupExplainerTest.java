@@ -0,0 +1,165 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+class DbSetupExplainerTest {
+    private static final DataSource DATA_SOURCE = mock(DataSource.class);
+    private static final Operation SHARED_DELETE = deleteAllFrom("My_Table");
+
+    @Test
+    void shouldExplainFixturesWithoutTouchingDatabase() {
+        // arrange
+        DbSetupExplainer explainer = new DbSetupExplainer(null);
+
+        // act
+        explainer.explain(Fixture.class);
+        String explanation = explainer.render();
+
+        // assert
+        verifyZeroInteractions(DATA_SOURCE);
+        assertThat(explanation)
+                .contains("2 fixtures in 2 classes")
+                .contains(Fixture.class.getName() + " [DEFAULT]: 2 operations, tables [My_Table], 2 rows")
+                .contains(Fixture.Inner.class.getName() + " [DEFAULT]: 3 operations, tables [My_Table, Other_Table], 3 rows")
+                .contains("order 2 groups [more]: insert into Other_Table");
+    }
+
+    @Test
+    void shouldEstimateRoundTripsOfOperation() throws Exception {
+        // act
+        DbSetupExplainer.OperationPlan plan = DbSetupExplainer.plan(insertInto("My_Table")
+                .columns("primary_key", "my_value")
+                .values(1, "a")
+                .values(2, "b")
+                .values(3, "c")
+                .build());
+
+        // assert
+        assertThat(plan.tables).containsExactly("My_Table");
+        assertThat(plan.statistics.getRowsAffected()).isEqualTo(3);
+        assertThat(plan.statistics.getStatementsPrepared()).isEqualTo(1);
+        assertThat(plan.statistics.getRoundTrips()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldFlagOperationsLaunchedByMoreThanOneFixture() throws Exception {
+        // arrange
+        Path file = Files.createTempFile("dbsetup-explain", ".txt");
+        DbSetupExplainer explainer = new DbSetupExplainer(file);
+
+        // act
+        explainer.explain(Fixture.class);
+        explainer.explain(OtherFixture.class);
+        explainer.close();
+        String explanation = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+        // assert
+        assertThat(explanation)
+                .contains("Operations launched by more than one fixture")
+                .contains("delete from My_Table\n     3 times by [" + Fixture.class.getName() + " [DEFAULT], " +
+                        Fixture.Inner.class.getName() + " [DEFAULT], " + OtherFixture.class.getName() + " [DEFAULT]]");
+    }
+
+    @Test
+    void shouldRecordClassesThatCannotBeExplained() {
+        // arrange
+        DbSetupExplainer explainer = new DbSetupExplainer(null);
+
+        // act
+        explainer.explain(NotOrdered.class);
+
+        // assert
+        assertThat(explainer.render()).contains("Classes that cannot be explained:\n  " + NotOrdered.class.getName());
+    }
+
+    @Test
+    void shouldDisableTestClassesInExplainMode() {
+        // arrange
+        ExtensionContext mockContext = mock(ExtensionContext.class);
+        ExtensionContext.Store mockStore = mock(ExtensionContext.Store.class);
+        Map<Object, Object> store = new HashMap<>();
+        when(mockContext.getRoot()).thenReturn(mockContext);
+        when(mockContext.getStore(any())).thenReturn(mockStore);
+        when(mockContext.getConfigurationParameter(DbSetupExplainer.EXPLAIN_PARAMETER)).thenReturn(Optional.of("true"));
+        when(mockContext.getConfigurationParameter(DbSetupExplainer.FILE_PARAMETER)).thenReturn(Optional.empty());
+        when(mockContext.getTestMethod()).thenReturn(Optional.empty());
+        doReturn(Optional.of(Fixture.class)).when(mockContext).getTestClass();
+        doReturn(Fixture.class).when(mockContext).getRequiredTestClass();
+        doAnswer(invocation -> store.computeIfAbsent(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(mockStore).getOrComputeIfAbsent(any(), any(), any());
+
+        // act
+        ConditionEvaluationResult result = new DbSetupExtension().evaluateExecutionCondition(mockContext);
+
+        // assert
+        assertThat(result.isDisabled()).isTrue();
+        assertThat(((DbSetupExplainer) store.values().iterator().next()).render())
+                .contains(Fixture.Inner.class.getName());
+        verifyZeroInteractions(DATA_SOURCE);
+    }
+
+    static class Fixture {
+        @DbSetupSource
+        static DataSource dataSource = DATA_SOURCE;
+
+        @DbSetupOperation
+        static Operation delete0 = SHARED_DELETE;
+
+        @DbSetupOperation
+        Operation insert1 = insertInto("My_Table")
+                .columns("primary_key", "my_value")
+                .values(1, "a")
+                .values(2, "b")
+                .build();
+
+        @Nested
+        class Inner {
+            @DbSetupOperation(groups = "more")
+            Operation insert2 = insertInto("Other_Table")
+                    .columns("id")
+                    .values(1)
+                    .build();
+        }
+    }
+
+    static class OtherFixture {
+        @DbSetupSource
+        static DataSource dataSource = DATA_SOURCE;
+
+        @DbSetupOperation
+        static Operation delete = SHARED_DELETE;
+    }
+
+    static class NotOrdered {
+        @DbSetupSource
+        static DataSource dataSource = DATA_SOURCE;
+
+        @DbSetupOperation
+        static Operation delete = SHARED_DELETE;
+
+        @DbSetupOperation
+        static Operation otherDelete = deleteAllFrom("Other_Table");
+    }
+}
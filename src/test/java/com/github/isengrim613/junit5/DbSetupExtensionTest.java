@@ -7,15 +7,22 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstances;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -26,6 +33,7 @@ import static org.mockito.Mockito.*;
 class DbSetupExtensionTest {
     private DbSetupExtension extension;
     private ExtensionContext mockContext;
+    private Map<Object, Object> store;
 
     @BeforeEach
     void setup() {
@@ -34,12 +42,19 @@ class DbSetupExtensionTest {
 
         ExtensionContext.Store mockStore = mock(ExtensionContext.Store.class);
         when(mockContext.getStore(any())).thenReturn(mockStore);
+        when(mockContext.getRoot()).thenReturn(mockContext);
+        // operations are verified against the connection of the mocked data source, not a counting wrapper
+        when(mockContext.getConfigurationParameter(DbSetupExtension.JDBC_STATISTICS_PARAMETER)).thenReturn(Optional.of("false"));
 
-        Map<Object, Object> store = new HashMap<>();
+        store = new HashMap<>();
         doAnswer((Answer<Object>) invocationOnMock -> store.put(invocationOnMock.getArgument(0), invocationOnMock.getArgument(1)))
                 .when(mockStore).put(any(), any());
         doAnswer((Answer<Object>) invocationOnMock -> store.get(invocationOnMock.getArgument(0)))
                 .when(mockStore).get(any());
+        doAnswer((Answer<Object>) invocationOnMock -> store.computeIfAbsent(invocationOnMock.getArgument(0), invocationOnMock.getArgument(1)))
+                .when(mockStore).getOrComputeIfAbsent(any(), any(), any());
+        doAnswer((Answer<Object>) invocationOnMock -> store.remove(invocationOnMock.getArgument(0)))
+                .when(mockStore).remove(any());
     }
 
     @Nested
@@ -94,7 +109,70 @@ class DbSetupExtensionTest {
                     Arguments.of(OperationWithNoSource.class, OperationWithNoSource.INSTANCE),
                     Arguments.of(NotOrderedOperations.class, NotOrderedOperations.INSTANCE),
                     Arguments.of(BinderConfigurationWithNoSource.class, BinderConfigurationWithNoSource.INSTANCE),
-                    Arguments.of(MultipleBinderConfigurationForSameSource.class, MultipleBinderConfigurationForSameSource.INSTANCE));
+                    Arguments.of(MultipleBinderConfigurationForSameSource.class, MultipleBinderConfigurationForSameSource.INSTANCE),
+                    Arguments.of(FinalManagedDataSource.class, FinalManagedDataSource.INSTANCE),
+                    Arguments.of(UrlAndConfigurationDataSource.class, UrlAndConfigurationDataSource.INSTANCE),
+                    Arguments.of(MissingConfigurationDataSource.class, MissingConfigurationDataSource.INSTANCE),
+                    Arguments.of(UnknownGroup.class, UnknownGroup.INSTANCE),
+                    Arguments.of(MissingScript.class, MissingScript.INSTANCE),
+                    Arguments.of(TeardownWithNoSource.class, TeardownWithNoSource.INSTANCE),
+                    Arguments.of(ImmutableWithGroups.class, ImmutableWithGroups.INSTANCE),
+                    Arguments.of(ImmutableWithTeardown.class, ImmutableWithTeardown.INSTANCE));
+        }
+
+        @Test
+        void shouldThrowIfTrackerScopeIsUnknown() {
+            // arrange
+            doReturn(StaticFieldOperation.class).when(mockContext).getRequiredTestClass();
+            when(mockContext.getConfigurationParameter(DbSetupExtension.TRACKER_SCOPE_PARAMETER)).thenReturn(Optional.of("method"));
+
+            // act
+            Throwable t = catchThrowable(() -> extension.postProcessTestInstance(StaticFieldOperation.INSTANCE, mockContext));
+
+            // assert
+            assertThat(t).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class AfterCallbacks {
+        @Test
+        void shouldReleaseHoldersAfterEachTest() throws Exception {
+            // arrange
+            TestInstances mockTestInstances = mock(TestInstances.class);
+            doReturn(Collections.singletonList(StaticFieldOperation.INSTANCE)).when(mockTestInstances).getAllInstances();
+            doReturn(mockTestInstances).when(mockContext).getRequiredTestInstances();
+            doReturn(Optional.of(TestInstance.Lifecycle.PER_METHOD)).when(mockContext).getTestInstanceLifecycle();
+
+            doReturn(StaticFieldOperation.class).when(mockContext).getRequiredTestClass();
+            extension.postProcessTestInstance(StaticFieldOperation.INSTANCE, mockContext);
+            assertThat(store).containsKey("DB_SETUP_HOLDERS");
+
+            // act
+            extension.afterEach(mockContext);
+
+            // assert
+            assertThat(store).doesNotContainKey("DB_SETUP_HOLDERS");
+        }
+
+        @Test
+        void shouldKeepHoldersOfPerClassInstanceUntilAfterAll() throws Exception {
+            // arrange
+            doReturn(Optional.of(TestInstance.Lifecycle.PER_CLASS)).when(mockContext).getTestInstanceLifecycle();
+            doReturn(Optional.of(StaticFieldOperation.INSTANCE)).when(mockContext).getTestInstance();
+
+            doReturn(StaticFieldOperation.class).when(mockContext).getRequiredTestClass();
+            extension.postProcessTestInstance(StaticFieldOperation.INSTANCE, mockContext);
+
+            // act
+            extension.afterEach(mockContext);
+            boolean keptAfterEach = store.containsKey("DB_SETUP_HOLDERS");
+            extension.afterAll(mockContext);
+
+            // assert
+            assertThat(keptAfterEach).isTrue();
+            assertThat(store).doesNotContainKey("DB_SETUP_HOLDERS").doesNotContainKey("DB_SETUP_TRACKERS");
         }
     }
 
@@ -128,6 +206,104 @@ class DbSetupExtensionTest {
             MultipleDataSources.verifyNotExecuted();
         }
 
+        @Test
+        void shouldNotRunNextSetupForNewTestInstanceIfMethodHasSkipNextAnnotation() throws Exception {
+            // arrange
+            StaticFieldOperation.resetMocks();
+
+            doReturn(StaticFieldOperation.class).when(mockContext).getRequiredTestClass();
+            StaticFieldOperation firstInstance = new StaticFieldOperation();
+            extension.postProcessTestInstance(firstInstance, mockContext);
+
+            doReturn(TestMethods.class.getMethod("skipDbSetup")).when(mockContext).getRequiredTestMethod();
+            doReturn(firstInstance).when(mockContext).getRequiredTestInstance();
+
+            extension.beforeEach(mockContext);
+            StaticFieldOperation.verifyExecuted();
+
+            // act
+            StaticFieldOperation.resetMocks();
+
+            StaticFieldOperation secondInstance = new StaticFieldOperation();
+            extension.postProcessTestInstance(secondInstance, mockContext);
+
+            doReturn(TestMethods.class.getMethod("normalTest")).when(mockContext).getRequiredTestMethod();
+            doReturn(secondInstance).when(mockContext).getRequiredTestInstance();
+
+            extension.beforeEach(mockContext);
+
+            // assert
+            StaticFieldOperation.verifyNotExecuted();
+        }
+
+        @Test
+        void shouldPublishReportEntryForEachLaunch() throws Exception {
+            // arrange
+            MultipleDataSources.resetMocks();
+
+            doReturn(MultipleDataSources.class).when(mockContext).getRequiredTestClass();
+            extension.postProcessTestInstance(MultipleDataSources.INSTANCE, mockContext);
+
+            doReturn(TestMethods.class.getMethod("skipDbSetup")).when(mockContext).getRequiredTestMethod();
+            doReturn(MultipleDataSources.INSTANCE).when(mockContext).getRequiredTestInstance();
+
+            // act
+            extension.beforeEach(mockContext);
+            extension.beforeEach(mockContext);
+
+            // assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+            verify(mockContext, times(4)).publishReportEntry(captor.capture());
+
+            assertThat(captor.getAllValues())
+                    .extracting(entry -> entry.get("dbsetup.source") + ":" + entry.get("dbsetup.skipped"))
+                    .containsExactlyInAnyOrder("source1:false", "source2:false", "source1:true", "source2:true");
+        }
+
+        @Test
+        void shouldNotifyDeclaredListeners() throws Exception {
+            // arrange
+            ListenedOperation.resetMocks();
+
+            doReturn(ListenedOperation.class).when(mockContext).getRequiredTestClass();
+            extension.postProcessTestInstance(ListenedOperation.INSTANCE, mockContext);
+
+            doReturn(TestMethods.class.getMethod("skipDbSetup")).when(mockContext).getRequiredTestMethod();
+            doReturn(ListenedOperation.INSTANCE).when(mockContext).getRequiredTestInstance();
+
+            // act
+            extension.beforeEach(mockContext);
+            extension.beforeEach(mockContext);
+
+            // assert
+            assertThat(RecordingListener.EVENTS).containsExactly(
+                    "beforeDiscovery", "afterDiscovery:1:1",
+                    "beforeLaunch:DEFAULT", "afterLaunch:DEFAULT",
+                    "beforeLaunch:DEFAULT", "launchSkipped:DEFAULT");
+        }
+
+        @Test
+        void shouldNotifyDeclaredListenersOfFailedLaunch() throws Exception {
+            // arrange
+            ListenedOperation.resetMocks();
+
+            doReturn(ListenedOperation.class).when(mockContext).getRequiredTestClass();
+            extension.postProcessTestInstance(ListenedOperation.INSTANCE, mockContext);
+
+            doReturn(TestMethods.class.getMethod("normalTest")).when(mockContext).getRequiredTestMethod();
+            doReturn(ListenedOperation.INSTANCE).when(mockContext).getRequiredTestInstance();
+            doThrow(new SQLException("failed")).when(ListenedOperation.INSTANCE.mockOperation).execute(any(), any());
+
+            // act
+            Throwable t = catchThrowable(() -> extension.beforeEach(mockContext));
+
+            // assert
+            assertThat(t).isNotNull();
+            assertThat(RecordingListener.EVENTS).containsExactly(
+                    "beforeDiscovery", "afterDiscovery:1:1", "beforeLaunch:DEFAULT", "launchFailed:DEFAULT");
+        }
+
         @ParameterizedTest
         @MethodSource("createValidCombinations")
         void shouldRunSetupForValidCombinations(Class<?> clazz, Object instance, Runnable reset, Runnable verify) throws Exception {
@@ -206,6 +382,16 @@ class DbSetupExtensionTest {
             assertThat(order.get()).isEqualTo("12");
         }
 
+        @Test
+        void shouldFindScriptsOfOuterClassOnceForNestedSubclass() {
+            // act
+            List<DbSetupExtension.OperationElement> operations =
+                    DbSetupExtension.findOperations(ScriptedOuter.NestedSubclass.class);
+
+            // assert
+            assertThat(operations).hasSize(2);
+        }
+
         @Test
         void shouldPreserveOrderOfMultiLevelOrderedOperations() throws Exception {
             // arrange
@@ -332,6 +518,44 @@ class DbSetupExtensionTest {
         }
     }
 
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class Pipeline {
+        @BeforeEach
+        void setup() throws Exception {
+            StaticFieldOperation.resetMocks();
+            when(mockContext.getConfigurationParameter(DbSetupPipeline.PIPELINE_PARAMETER)).thenReturn(Optional.of("true"));
+            doReturn(StaticFieldOperation.class).when(mockContext).getRequiredTestClass();
+            doReturn(TestMethods.class.getMethod("normalTest")).when(mockContext).getRequiredTestMethod();
+            doReturn(StaticFieldOperation.INSTANCE).when(mockContext).getRequiredTestInstance();
+        }
+
+        @Test
+        void shouldLaunchWhenInstanceIsPostProcessed() throws Exception {
+            // act
+            extension.postProcessTestInstance(StaticFieldOperation.INSTANCE, mockContext);
+            verify(StaticFieldOperation.mockOperation1, timeout(5000)).execute(any(), any());
+            extension.beforeEach(mockContext);
+
+            // assert
+            StaticFieldOperation.verifyExecuted();
+        }
+
+        @Test
+        void shouldFailTestWaitingForFailedLaunch() throws Exception {
+            // arrange
+            doThrow(new SQLException("boom")).when(StaticFieldOperation.mockOperation1).execute(any(), any());
+            extension.postProcessTestInstance(StaticFieldOperation.INSTANCE, mockContext);
+
+            // act
+            Throwable t = catchThrowable(() -> extension.beforeEach(mockContext));
+
+            // assert
+            assertThat(t).hasRootCauseInstanceOf(SQLException.class).hasStackTraceContaining("boom");
+            StaticFieldOperation.verifyExecuted();
+        }
+    }
+
     static class TestMethods {
         @DbSetupSkipNext
         public void skipDbSetup() {
@@ -373,6 +597,71 @@ class DbSetupExtensionTest {
         private Operation mockOperation1 = mock(Operation.class);
     }
 
+    static class FinalManagedDataSource {
+        static final FinalManagedDataSource INSTANCE = new FinalManagedDataSource();
+
+        @DbSetupSource(url = "jdbc:h2:mem:FinalManagedDataSource")
+        private final DataSource dataSource = null;
+
+        @DbSetupOperation
+        private Operation mockOperation1 = mock(Operation.class);
+    }
+
+    static class UrlAndConfigurationDataSource {
+        static final UrlAndConfigurationDataSource INSTANCE = new UrlAndConfigurationDataSource();
+
+        @DbSetupSource(url = "jdbc:h2:mem:UrlAndConfigurationDataSource", configuration = "dbsetup.datasource.test")
+        private DataSource dataSource;
+
+        @DbSetupOperation
+        private Operation mockOperation1 = mock(Operation.class);
+    }
+
+    static class MissingConfigurationDataSource {
+        static final MissingConfigurationDataSource INSTANCE = new MissingConfigurationDataSource();
+
+        @DbSetupSource(configuration = "dbsetup.datasource.missing")
+        private DataSource dataSource;
+
+        @DbSetupOperation
+        private Operation mockOperation1 = mock(Operation.class);
+    }
+
+    static class UnknownGroup {
+        static final UnknownGroup INSTANCE = new UnknownGroup();
+
+        @DbSetupSource
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupOperation(groups = "known")
+        private static Operation mockOperation1 = mock(Operation.class);
+
+        @DbSetupGroups("unknown")
+        void test() {
+        }
+    }
+
+    @DbSetupScript(value = "classpath:missing.sql", order = 1)
+    static class MissingScript {
+        static final MissingScript INSTANCE = new MissingScript();
+
+        @DbSetupSource
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+    }
+
+    @DbSetupScript(value = "classpath:dbsetup-script.sql", order = 1)
+    static class ScriptedOuter {
+        @DbSetupSource
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupOperation
+        static Operation mockOperation0 = mock(Operation.class);
+
+        // inherits the script and the operation of the outer class
+        class NestedSubclass extends ScriptedOuter {
+        }
+    }
+
     static class NoOperations {
         static final NoOperations INSTANCE = new NoOperations();
 
@@ -400,6 +689,39 @@ class DbSetupExtensionTest {
         private static Operation mockOperation1 = mock(Operation.class);
     }
 
+    static class TeardownWithNoSource {
+        static final TeardownWithNoSource INSTANCE = new TeardownWithNoSource();
+
+        @DbSetupSource
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupTeardown(sources = "Some other source")
+        private static Operation mockTeardown = mock(Operation.class);
+    }
+
+    static class ImmutableWithGroups {
+        static final ImmutableWithGroups INSTANCE = new ImmutableWithGroups();
+
+        @DbSetupSource(immutable = true)
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupOperation(groups = "some group")
+        private static Operation mockOperation = mock(Operation.class);
+    }
+
+    static class ImmutableWithTeardown {
+        static final ImmutableWithTeardown INSTANCE = new ImmutableWithTeardown();
+
+        @DbSetupSource(immutable = true)
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupOperation
+        private static Operation mockOperation = mock(Operation.class);
+
+        @DbSetupTeardown
+        private static Operation mockTeardown = mock(Operation.class);
+    }
+
     static class BinderConfigurationWithNoSource {
         static final BinderConfigurationWithNoSource INSTANCE = new BinderConfigurationWithNoSource();
 
@@ -689,6 +1011,56 @@ class DbSetupExtensionTest {
         }
     }
 
+    public static class RecordingListener implements DbSetupLaunchListener {
+        static final List<String> EVENTS = new ArrayList<>();
+
+        @Override
+        public void beforeDiscovery(DbSetupDiscoveryEvent event) {
+            EVENTS.add("beforeDiscovery");
+        }
+
+        @Override
+        public void afterDiscovery(DbSetupDiscoveryEvent event) {
+            EVENTS.add("afterDiscovery:" + event.getDataSourceCount() + ":" + event.getOperationCount());
+        }
+
+        @Override
+        public void beforeLaunch(DbSetupLaunchEvent event) {
+            EVENTS.add("beforeLaunch:" + event.getDataSource());
+        }
+
+        @Override
+        public void afterLaunch(DbSetupLaunchEvent event) {
+            EVENTS.add("afterLaunch:" + event.getDataSource());
+        }
+
+        @Override
+        public void launchSkipped(DbSetupLaunchEvent event) {
+            EVENTS.add("launchSkipped:" + event.getDataSource());
+        }
+
+        @Override
+        public void launchFailed(DbSetupLaunchEvent event, Throwable failure) {
+            EVENTS.add("launchFailed:" + event.getDataSource());
+        }
+    }
+
+    @DbSetup(listeners = RecordingListener.class)
+    static class ListenedOperation {
+        static final ListenedOperation INSTANCE = new ListenedOperation();
+
+        @DbSetupSource
+        private static DataSource mockDataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+
+        @DbSetupOperation
+        private Operation mockOperation = mock(Operation.class);
+
+        static void resetMocks() {
+            reset(mockDataSource, INSTANCE.mockOperation);
+            RecordingListener.EVENTS.clear();
+        }
+    }
+
     static class MultipleDataSources {
         static final MultipleDataSources INSTANCE = new MultipleDataSources();
 
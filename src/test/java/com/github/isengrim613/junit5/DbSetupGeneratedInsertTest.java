@@ -0,0 +1,108 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class DbSetupGeneratedInsertTest {
+    private static final DbSetupGeneratedInsert.RowGenerator GENERATOR =
+            (row, random) -> new Object[] { row + 1, Integer.toString(random.nextInt(1000)) };
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:DbSetupGeneratedInsertTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+    }
+
+    @Test
+    void shouldInsertGeneratedRowsInBatches() throws Exception {
+        // arrange
+        DbSetupGeneratedInsert insert = DbSetupGeneratedInsert.into("My_Table")
+                .columns("primary_key", "my_value")
+                .rows(3)
+                .batchSize(2)
+                .generator((row, random) -> new Object[] { row + 1, "value" + row })
+                .build();
+
+        // act
+        launch(insert);
+
+        // assert
+        assertThat(insert.getRowCount()).isEqualTo(3);
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "value0"), Pair.of(2, "value1"), Pair.of(3, "value2"));
+    }
+
+    @Test
+    void shouldGenerateSameRowsWhateverTheNumberOfThreads() throws Exception {
+        // arrange
+        DbSetupGeneratedInsert.Builder builder = DbSetupGeneratedInsert.into("My_Table")
+                .columns("primary_key", "my_value")
+                .rows(10_000)
+                .seed(42)
+                .batchSize(100)
+                .generator(GENERATOR);
+
+        // act
+        launch(builder.threads(1).build());
+        List<String> sequentialRows = selectValues();
+        launch(builder.threads(4).build());
+        List<String> parallelRows = selectValues();
+
+        // assert
+        assertThat(sequentialRows).hasSize(10_000);
+        assertThat(parallelRows).isEqualTo(sequentialRows);
+        assertThat(builder.threads(1).build()).isEqualTo(builder.threads(4).build());
+        assertThat(builder.seed(43).build()).isNotEqualTo(builder.seed(42).build());
+    }
+
+    @Test
+    void shouldThrowIfGeneratedRowHasWrongNumberOfValues() {
+        // arrange
+        DbSetupGeneratedInsert insert = DbSetupGeneratedInsert.into("My_Table")
+                .columns("primary_key", "my_value")
+                .rows(10)
+                .threads(2)
+                .batchSize(2)
+                .generator((row, random) -> new Object[] { row + 1 })
+                .build();
+
+        // act
+        Throwable t = catchThrowable(() -> launch(insert));
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void launch(Operation insert) {
+        new DbSetup(new DataSourceDestination(dataSource), sequenceOf(deleteAllFrom("My_Table"), insert)).launch();
+    }
+
+    private List<String> selectValues() throws Exception {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select my_value from My_Table order by primary_key")) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+        return values;
+    }
+}
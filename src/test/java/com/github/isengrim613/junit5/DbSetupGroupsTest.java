@@ -0,0 +1,61 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+
+@DbSetup
+class DbSetupGroupsTest {
+    @DbSetupSource
+    static DataSource dataSource = createDataSource();
+
+    @DbSetupOperation
+    static Operation delete0 = deleteAllFrom("My_Table");
+
+    @DbSetupOperation
+    static Operation insert1 = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(1, "baseline")
+            .build();
+
+    @DbSetupOperation(groups = "first")
+    static Operation insert2 = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(2, "first")
+            .build();
+
+    @DbSetupOperation(groups = { "first", "second" })
+    static Operation insert3 = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(3, "shared")
+            .build();
+
+    private static DataSource createDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:GroupsTable;MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+        return dataSource;
+    }
+
+    @Test
+    void shouldOnlyLaunchBaselineWithoutGroups() throws Exception {
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "baseline"));
+    }
+
+    @Test
+    @DbSetupGroups("first")
+    void shouldLaunchOperationsOfSelectedGroup() throws Exception {
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "baseline"), Pair.of(2, "first"), Pair.of(3, "shared"));
+    }
+
+    @Test
+    @DbSetupGroups("second")
+    void shouldLaunchOperationsSharedByGroups() throws Exception {
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "baseline"), Pair.of(3, "shared"));
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbc.JdbcResultSet;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DbSetup
+class DbSetupImmutableSourceTest {
+    private static final String URL = "jdbc:h2:mem:ImmutableTable;MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';";
+
+    @DbSetupSource(url = URL, immutable = true)
+    private static DataSource dataSource;
+
+    @DbSetupOperation
+    static Operation insert0 = sequenceOf(
+            deleteAllFrom("My_Table"),
+            insertInto("My_Table")
+                    .columns("primary_key", "my_value")
+                    .values(1, "2")
+                    .build());
+
+    @Test
+    void shouldInjectReadOnlyDataSource() throws Exception {
+        assertThat(dataSource).isInstanceOf(DbSetupImmutableSources.ReadOnlyDataSource.class);
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+    }
+
+    @Test
+    void shouldRejectWrites() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThatThrownBy(() -> statement.execute("delete from My_Table"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("is immutable, rejected delete from My_Table");
+            assertThatThrownBy(() -> statement.executeUpdate("select 1"))
+                    .isInstanceOf(SQLException.class);
+            assertThatThrownBy(() -> connection.prepareStatement("insert into My_Table values (2, '3')"))
+                    .isInstanceOf(SQLException.class);
+            assertThatThrownBy(() -> connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE))
+                    .isInstanceOf(SQLException.class);
+        }
+
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+    }
+
+    @Test
+    void shouldOnlyAllowQueries() {
+        assertThat(DbSetupImmutableSources.isQuery("select * from My_Table")).isTrue();
+        assertThat(DbSetupImmutableSources.isQuery("  /* comment */ (SELECT 1)")).isTrue();
+        assertThat(DbSetupImmutableSources.isQuery("-- comment\nwith t as (select 1) select * from t")).isTrue();
+        assertThat(DbSetupImmutableSources.isQuery("update My_Table set my_value = '3'")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery("/* select */ truncate table My_Table")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery("select 'delete; update' as \"into\" from My_Table;")).isTrue();
+    }
+
+    @Test
+    void shouldRejectQueriesThatWrite() {
+        assertThat(DbSetupImmutableSources.isQuery("select 1; delete from My_Table")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery(
+                "with d as (delete from My_Table returning *) select * from d")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery("select * from My_Table for update")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery("select * into Copy_Table from My_Table")).isFalse();
+        assertThat(DbSetupImmutableSources.isQuery("explain analyze delete from My_Table")).isFalse();
+    }
+
+    @Test
+    void shouldRejectMultipleStatements() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThatThrownBy(() -> statement.execute("select 1; delete from My_Table"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("is immutable");
+        }
+
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+    }
+
+    @Test
+    void shouldNotHandOutWrappedConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select * from My_Table")) {
+            assertThatThrownBy(() -> connection.setReadOnly(false))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("is immutable, rejected read-write connection");
+
+            assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+            assertThat(connection.isWrapperFor(JdbcConnection.class)).isFalse();
+            assertThatThrownBy(() -> connection.unwrap(JdbcConnection.class))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("is immutable, rejected unwrapping");
+
+            DatabaseMetaData metaData = connection.getMetaData();
+            assertThat(metaData.getConnection()).isSameAs(connection);
+            assertThat(statement.getConnection()).isSameAs(connection);
+            assertThat(resultSet.getStatement()).isSameAs(statement);
+            assertThatThrownBy(() -> resultSet.unwrap(JdbcResultSet.class))
+                    .isInstanceOf(SQLException.class);
+        }
+    }
+
+    @Test
+    void shouldLaunchOncePerDataSource() {
+        // arrange
+        DbSetupImmutableSources sources = new DbSetupImmutableSources();
+        DbSetupSourceKey key = DbSetupSourceKey.of(mock(DataSource.class));
+        AtomicInteger launches = new AtomicInteger();
+
+        // act
+        boolean first = sources.launchOnce(key, "DEFAULT", Collections.singletonList(insert0),
+                DefaultBinderConfiguration.INSTANCE, launches::incrementAndGet);
+        boolean second = sources.launchOnce(key, "DEFAULT", Collections.singletonList(insert0),
+                DefaultBinderConfiguration.INSTANCE, launches::incrementAndGet);
+
+        // assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(launches).hasValue(1);
+        assertThatThrownBy(() -> sources.launchOnce(key, "DEFAULT",
+                Collections.singletonList(deleteAllFrom("My_Table")), DefaultBinderConfiguration.INSTANCE,
+                launches::incrementAndGet))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("was already launched with other operations");
+        assertThat(launches).hasValue(1);
+    }
+
+    @Nested
+    class Inner {
+        @DbSetupSource(name = "same url", url = URL, immutable = true)
+        DataSource sameDataSource;
+
+        @DbSetupOperation(sources = "same url")
+        Operation sameInsert0 = insert0;
+
+        @Test
+        void shouldShareReadOnlyDataSourceOfSameUrl() throws Exception {
+            assertThat(sameDataSource).isSameAs(dataSource);
+            assertDataSourceOnlyHasRows(sameDataSource, Pair.of(1, "2"));
+        }
+    }
+
+    @Nested
+    class InstanceField {
+        // a new data source for each test instance
+        @DbSetupSource(name = "instance", immutable = true)
+        DataSource instanceDataSource = createDataSource();
+
+        // launching twice fails on the primary key
+        @DbSetupOperation(sources = "instance")
+        Operation instanceInsert1 = insertInto("My_Table")
+                .columns("primary_key", "my_value")
+                .values(3, "4")
+                .build();
+
+        private DataSource createDataSource() {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:ImmutableInstanceTable;MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+            return dataSource;
+        }
+
+        @RepeatedTest(2)
+        void shouldLaunchOncePerField() throws Exception {
+            assertThat(instanceDataSource).isInstanceOf(DbSetupImmutableSources.ReadOnlyDataSource.class);
+            assertDataSourceOnlyHasRows(instanceDataSource, Pair.of(3, "4"));
+        }
+    }
+}
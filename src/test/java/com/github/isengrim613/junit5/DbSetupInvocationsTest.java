@@ -0,0 +1,72 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.github.isengrim613.junit5.TestUtilities.insertRow;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+
+@DbSetup
+class DbSetupInvocationsTest {
+    @DbSetupSource
+    static DataSource dataSource = createDataSource();
+
+    @DbSetupOperation
+    static Operation insert0 = sequenceOf(
+            deleteAllFrom("My_Table"),
+            insertInto("My_Table")
+                    .columns("primary_key", "my_value")
+                    .values(1, "1")
+                    .build());
+
+    private static DataSource createDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:InvocationsTable;MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+        return dataSource;
+    }
+
+    @Nested
+    @TestMethodOrder(DbSetupMethodOrderer.class)
+    class ReadOnly {
+        @RepeatedTest(3)
+        @DbSetupInvocations
+        void shouldLaunchForFirstInvocationOnly(RepetitionInfo repetitionInfo) throws Exception {
+            // each invocation sees the row left by the previous one, which proves there was no relaunch
+            if (repetitionInfo.getCurrentRepetition() == 1) {
+                assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"));
+                insertRow(dataSource, 2, "2");
+            }
+            else {
+                assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"), Pair.of(2, "2"));
+            }
+        }
+
+        @Test
+        void shouldRelaunchAfterTemplate() throws Exception {
+            assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"));
+        }
+    }
+
+    @Nested
+    class NotReadOnly {
+        @ParameterizedTest
+        @ValueSource(ints = { 2, 3, 4 })
+        @DbSetupInvocations(readOnly = false)
+        void shouldLaunchForEveryInvocation(int key) throws Exception {
+            assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"));
+            insertRow(dataSource, key, String.valueOf(key));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DbSetup
+class DbSetupManagedSourceTest {
+    private static final String URL = "jdbc:h2:mem:ManagedTable;MODE=MYSQL;IGNORECASE=TRUE;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';";
+
+    @DbSetupSource(url = URL)
+    private static DataSource dataSource;
+
+    @DbSetupOperation
+    Operation insert0 = sequenceOf(
+            deleteAllFrom("My_Table"),
+            insertInto("My_Table")
+                    .columns("primary_key", "my_value")
+                    .values(1, "2")
+                    .build());
+
+    @Test
+    void shouldInjectManagedDataSource() throws Exception {
+        assertThat(dataSource).isInstanceOf(ManagedDataSource.class);
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+    }
+
+    @Nested
+    class Inner {
+        @DbSetupSource(name = "same url", url = URL)
+        DataSource sameDataSource;
+
+        @Test
+        void shouldShareManagedDataSourceOfSameUrl() throws Exception {
+            assertThat(sameDataSource).isSameAs(dataSource);
+            assertDataSourceOnlyHasRows(sameDataSource, Pair.of(1, "2"));
+        }
+    }
+}
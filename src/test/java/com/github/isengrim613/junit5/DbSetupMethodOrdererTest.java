@@ -0,0 +1,71 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DbSetupMethodOrdererTest {
+    @Test
+    void shouldRunSkipNextMethodsFirstSortedByName() throws Exception {
+        // arrange
+        List<MethodDescriptor> descriptors = new ArrayList<>();
+        descriptors.add(descriptor(TestMethods.class.getDeclaredMethod("update")));
+        descriptors.add(descriptor(TestMethods.class.getDeclaredMethod("select", int.class)));
+        descriptors.add(descriptor(TestMethods.class.getDeclaredMethod("delete")));
+        descriptors.add(descriptor(TestMethods.class.getDeclaredMethod("select")));
+        descriptors.add(descriptor(TestMethods.class.getDeclaredMethod("count")));
+
+        MethodOrdererContext context = mock(MethodOrdererContext.class);
+        doReturn(descriptors).when(context).getMethodDescriptors();
+
+        // act
+        new DbSetupMethodOrderer().orderMethods(context);
+
+        // assert
+        assertThat(descriptors.stream().map(DbSetupMethodOrdererTest::toString).collect(Collectors.toList()))
+                .containsExactly("count()", "select()", "select(int)", "delete()", "update()");
+    }
+
+    private static MethodDescriptor descriptor(Method method) {
+        MethodDescriptor descriptor = mock(MethodDescriptor.class);
+        when(descriptor.getMethod()).thenReturn(method);
+        when(descriptor.isAnnotated(DbSetupSkipNext.class)).thenReturn(method.isAnnotationPresent(DbSetupSkipNext.class));
+        return descriptor;
+    }
+
+    private static String toString(MethodDescriptor descriptor) {
+        Method method = descriptor.getMethod();
+        return method.getName() + (method.getParameterCount() == 0 ? "()" : "(int)");
+    }
+
+    @SuppressWarnings("unused")
+    private static class TestMethods {
+        void update() {
+        }
+
+        @DbSetupSkipNext
+        void select(int value) {
+        }
+
+        void delete() {
+        }
+
+        @DbSetupSkipNext
+        void select() {
+        }
+
+        @DbSetupSkipNext
+        void count() {
+        }
+    }
+}
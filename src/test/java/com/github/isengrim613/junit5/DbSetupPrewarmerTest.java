@@ -0,0 +1,62 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.github.isengrim613.junit5.TestUtilities.insertRow;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+class DbSetupPrewarmerTest {
+    @Test
+    void shouldPrepareOperationsWithoutModifyingDatabase() throws Exception {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:DbSetupPrewarmerTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+        insertRow(dataSource, 1, "2");
+
+        DbSetupPrewarmer prewarmer = new DbSetupPrewarmer();
+
+        // act
+        prewarmer.prewarm(dataSource, Arrays.asList(sequenceOf(
+                deleteAllFrom("My_Table"),
+                sql("update My_Table set my_value = 'changed'"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(2, "3")
+                        .values(3, "4")
+                        .build())), DefaultBinderConfiguration.INSTANCE).get(10, TimeUnit.SECONDS);
+        prewarmer.close();
+
+        // assert
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+    }
+
+    @Test
+    void shouldOnlyRunOperationsOfDbSetup() throws Exception {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:DbSetupPrewarmerTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+        Operation custom = mock(Operation.class);
+
+        DbSetupPrewarmer prewarmer = new DbSetupPrewarmer();
+
+        // act
+        prewarmer.prewarm(dataSource, Arrays.asList(deleteAllFrom("My_Table"), custom),
+                DefaultBinderConfiguration.INSTANCE).get(10, TimeUnit.SECONDS);
+        prewarmer.close();
+
+        // assert
+        verifyZeroInteractions(custom);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbSetupReportTest {
+    @Test
+    void shouldWriteSlowestFixturesAsCsv() throws Exception {
+        // arrange
+        Path file = Files.createTempDirectory("dbsetup-report").resolve("report.csv");
+        DbSetupReport report = new DbSetupReport(file, 1);
+
+        report.record(DbSetupReportTest.class, "DEFAULT", 1_000_000, false, statistics(3));
+        report.record(DbSetupReportTest.class, "DEFAULT", 0, true, statistics(0));
+        report.record(String.class, "other", 5_000_000, false, statistics(1));
+
+        // act
+        report.close();
+
+        // assert
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).containsExactly(
+                "testClass,source,launches,skipped,skipHitRate,rows,statementsPrepared,statementsExecuted,batches," +
+                        "roundTrips,metadataCalls,totalMillis,maxMillis",
+                "java.lang.String,other,1,0,0.0000,1,0,1,0,1,0,5.000,5.000",
+                "TOTAL,,3,1,0.3333,,,,,,,,");
+    }
+
+    @Test
+    void shouldWriteSkipHitRateAsJson() throws Exception {
+        // arrange
+        Path file = Files.createTempDirectory("dbsetup-report").resolve("report.json");
+        DbSetupReport report = new DbSetupReport(file, 10);
+
+        report.record(DbSetupReportTest.class, "DEFAULT", 1_000_000, false, statistics(3));
+        report.record(DbSetupReportTest.class, "DEFAULT", 0, true, statistics(0));
+
+        // act
+        report.close();
+
+        // assert
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertThat(json)
+                .contains("\"launches\": 2")
+                .contains("\"skipped\": 1")
+                .contains("\"skipHitRate\": 0.5000")
+                .contains("\"rows\": 3")
+                .contains("\"testClass\": \"com.github.isengrim613.junit5.DbSetupReportTest\"");
+    }
+
+    private static DbSetupJdbcStatistics statistics(long rows) {
+        DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+        if (rows > 0) {
+            statistics.executed(rows);
+        }
+        return statistics;
+    }
+}
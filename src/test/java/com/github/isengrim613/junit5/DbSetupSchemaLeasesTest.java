@@ -0,0 +1,108 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DbSetupSchemaLeasesTest {
+    private static final String POOL = "jdbc:h2:mem:{schema}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldLeaseFirstFreeSchemaOncePerPool() throws Exception {
+        // arrange
+        DbSetupSchemaLeases leases = new DbSetupSchemaLeases(directory, 1000);
+        DbSetupSchemaLeases otherFork = new DbSetupSchemaLeases(directory, 1000);
+
+        try (FileChannel channel = FileChannel.open(otherFork.getLockFile(POOL, "a"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.lock();
+
+            // act
+            String schema = leases.lease(POOL, Arrays.asList("a", "b"));
+            String sameSchema = leases.lease(POOL, Arrays.asList("a", "b"));
+
+            // assert
+            assertThat(schema).isEqualTo("b");
+            assertThat(sameSchema).isEqualTo("b");
+        }
+        finally {
+            leases.close();
+        }
+    }
+
+    @Test
+    void shouldFailWhenNoSchemaIsFreeBeforeTimeout() throws Exception {
+        // arrange
+        DbSetupSchemaLeases otherFork = new DbSetupSchemaLeases(directory, 1000);
+        DbSetupSchemaLeases leases = new DbSetupSchemaLeases(directory, 200);
+        otherFork.lease(POOL, Arrays.asList("a"));
+
+        try {
+            // act
+            // assert
+            assertThatThrownBy(() -> leases.lease(POOL, Arrays.asList("a")))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("No schema of [a] was free within 200ms");
+        }
+        finally {
+            otherFork.close();
+        }
+    }
+
+    @Test
+    void shouldHandSchemaBackWhenClosed() throws Exception {
+        // arrange
+        DbSetupSchemaLeases otherFork = new DbSetupSchemaLeases(directory, 1000);
+        DbSetupSchemaLeases leases = new DbSetupSchemaLeases(directory, 1000);
+        otherFork.lease(POOL, Arrays.asList("a", "b"));
+
+        // act
+        otherFork.close();
+        String schema = leases.lease(POOL, Arrays.asList("a", "b"));
+        leases.close();
+
+        // assert
+        assertThat(schema).isEqualTo("a");
+        assertThat(Files.exists(leases.getLockFile(POOL, "a"))).isTrue();
+    }
+
+    @Nested
+    @DbSetup
+    class Leased {
+        @DbSetupSource(url = "jdbc:h2:mem:Lease_{schema};MODE=MYSQL;IGNORECASE=TRUE;INIT=RUNSCRIPT FROM " +
+                "'classpath:h2-database-create.sql';", schemas = { "fork1", "fork2", "fork3" })
+        DataSource dataSource;
+
+        @DbSetupOperation
+        Operation insert0 = sequenceOf(
+                deleteAllFrom("My_Table"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(1, "2")
+                        .build());
+
+        @Test
+        void shouldInjectDataSourceOfLeasedSchema() throws Exception {
+            assertThat(dataSource.toString()).containsPattern("Lease_fork[123];");
+            assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+
+@DbSetup
+@DbSetupScript(value = "classpath:dbsetup-script.sql", order = 1)
+@DbSetupScript(value = "classpath:dbsetup-script.sql", order = 3, groups = "again")
+class DbSetupScriptTest {
+    @DbSetupSource
+    static DataSource dataSource = createDataSource();
+
+    @DbSetupOperation
+    static Operation delete0 = deleteAllFrom("My_Table");
+
+    @DbSetupOperation
+    static Operation insert2 = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(4, "operation")
+            .build();
+
+    private static DataSource createDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ScriptTable;MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+        return dataSource;
+    }
+
+    @Test
+    void shouldLaunchScriptInOrderWithOperations() throws Exception {
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "semi;colon"), Pair.of(2, "it's -- not a comment"),
+                Pair.of(3, "/* not a comment */"), Pair.of(4, "operation"));
+    }
+
+    @Test
+    @DbSetupGroups("again")
+    void shouldLaunchScriptOfSelectedGroup() throws Exception {
+        // the script deletes everything it did not insert
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "semi;colon"), Pair.of(2, "it's -- not a comment"),
+                Pair.of(3, "/* not a comment */"));
+    }
+}
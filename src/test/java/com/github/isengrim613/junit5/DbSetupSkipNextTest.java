@@ -0,0 +1,60 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.github.isengrim613.junit5.TestUtilities.insertRow;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+
+/**
+ * Runs with the default {@code PER_METHOD} lifecycle, so that every test gets a new test instance.
+ */
+@DbSetup
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DbSetupSkipNextTest {
+    @DbSetupSource
+    private static final DataSource DATA_SOURCE;
+
+    static {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:SkipNextTable;DB_CLOSE_DELAY=-1;MODE=MYSQL;IGNORECASE=TRUE;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+        DATA_SOURCE = new HikariDataSource(config);
+    }
+
+    @DbSetupOperation
+    Operation insert = sequenceOf(
+            deleteAllFrom("My_Table"),
+            insertInto("My_Table")
+                    .columns("primary_key", "my_value")
+                    .values(1, "2")
+                    .build());
+
+    @Test
+    @Order(1)
+    @DbSetupSkipNext
+    void shouldSkipNextLaunch() throws Exception {
+        insertRow(DATA_SOURCE, 2, "3");
+    }
+
+    @Test
+    @Order(2)
+    void shouldKeepRowsOfPreviousTestInstance() throws Exception {
+        assertDataSourceOnlyHasRows(DATA_SOURCE, Pair.of(1, "2"), Pair.of(2, "3"));
+    }
+
+    @Test
+    @Order(3)
+    void shouldLaunchAgain() throws Exception {
+        assertDataSourceOnlyHasRows(DATA_SOURCE, Pair.of(1, "2"));
+    }
+}
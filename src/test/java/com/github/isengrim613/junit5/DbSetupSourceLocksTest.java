@@ -0,0 +1,91 @@
+package com.github.isengrim613.junit5;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+class DbSetupSourceLocksTest {
+    private final DbSetupSourceLocks locks = new DbSetupSourceLocks();
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+
+    @Test
+    void shouldWaitForSameDataSource() throws Exception {
+        // arrange
+        DbSetupSourceLocks.Held held = locks.lock(Collections.singletonList(first));
+
+        // act
+        CompletableFuture<DbSetupSourceLocks.Held> waiting = lockAsync(first);
+        Throwable t = catchThrowable(() -> waiting.get(100, TimeUnit.MILLISECONDS));
+        held.close();
+
+        // assert
+        assertThat(t).isInstanceOf(TimeoutException.class);
+        waiting.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldNotWaitForOtherDataSource() throws Exception {
+        // arrange
+        DbSetupSourceLocks.Held held = locks.lock(Collections.singletonList(first));
+
+        // act
+        DbSetupSourceLocks.Held other = lockAsync(second).get(10, TimeUnit.SECONDS);
+
+        // assert
+        other.close();
+        held.close();
+    }
+
+    @Test
+    void shouldLockInSameOrderWhateverTheOrderOfDataSources() throws Exception {
+        // arrange
+        locks.lock(Arrays.asList(first, second)).close();
+
+        // act
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<DbSetupSourceLocks.Held> forward = lockAsync(first, second)
+                    .thenApply(held -> { held.close(); return held; });
+            CompletableFuture<DbSetupSourceLocks.Held> backward = lockAsync(second, first, second)
+                    .thenApply(held -> { held.close(); return held; });
+
+            // assert
+            CompletableFuture.allOf(forward, backward).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void shouldDropLockWhenReleased() throws Exception {
+        // arrange
+        DbSetupSourceLocks.Held held = locks.lock(Arrays.asList(first, second));
+        DbSetupSourceLocks.Held other = locks.lock(Collections.singletonList(second.toString()));
+
+        // act
+        held.close();
+
+        // assert
+        assertThat(locks.size()).isEqualTo(1);
+        other.close();
+        assertThat(locks.size()).isZero();
+    }
+
+    private CompletableFuture<DbSetupSourceLocks.Held> lockAsync(DataSource... dataSources) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return locks.lock(Arrays.asList(dataSources));
+            }
+            catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
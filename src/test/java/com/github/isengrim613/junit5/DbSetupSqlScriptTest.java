@@ -0,0 +1,94 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DbSetupSqlScriptTest {
+    @Test
+    void shouldSplitStatementsOutsideOfQuotesAndComments() throws Exception {
+        // arrange
+        List<String> statements = new ArrayList<>();
+
+        // act
+        DbSetupSqlScript.split(new StringReader(
+                "create table \"a;b\" (c int); -- comment;\n" +
+                "insert into t values ('x;''y');;\n" +
+                "create alias f as $$ int f() { return 1; } $$;/* comment; */select 1"), statements::add);
+
+        // assert
+        assertThat(statements).containsExactly(
+                "create table \"a;b\" (c int)",
+                "insert into t values ('x;''y')",
+                "create alias f as $$ int f() { return 1; } $$",
+                "select 1");
+    }
+
+    @Test
+    void shouldExecuteScriptInBatches() throws Exception {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:DbSetupSqlScriptTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+        DbSetupSqlScript script = DbSetupSqlScript.from("classpath:dbsetup-script.sql", 2);
+
+        // act
+        new DbSetup(new DataSourceDestination(dataSource), script).launch();
+
+        // assert
+        assertDataSourceOnlyHasRows(dataSource,
+                Pair.of(1, "semi;colon"), Pair.of(2, "it's -- not a comment"), Pair.of(3, "/* not a comment */"));
+        assertThat(script).isEqualTo(DbSetupSqlScript.from("classpath:dbsetup-script.sql", 2));
+        assertThat(script.toString()).doesNotContain("size=-1");
+    }
+
+    @Test
+    void shouldStopReadingAtFailingStatement() throws Exception {
+        // arrange
+        Path file = Files.createTempFile("dbsetup-script", ".sql");
+        Files.write(file, "insert into t values (1);\ninsert into t values (2);\n".getBytes(StandardCharsets.UTF_8));
+        SQLException failure = new SQLException("boom");
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeBatch()).thenThrow(failure);
+
+        // act
+        Throwable t = catchThrowable(() -> DbSetupSqlScript.from(file.toString(), 1)
+                .execute(connection, DefaultBinderConfiguration.INSTANCE));
+
+        // assert
+        assertThat(t).isSameAs(failure);
+        verify(statement, times(1)).addBatch(anyString());
+        Files.delete(file);
+    }
+
+    @Test
+    void shouldThrowIfScriptDoesNotExist() {
+        // act
+        Throwable t = catchThrowable(() -> DbSetupSqlScript.from("classpath:missing.sql"));
+
+        // assert
+        assertThat(t).isInstanceOf(IllegalArgumentException.class);
+    }
+}
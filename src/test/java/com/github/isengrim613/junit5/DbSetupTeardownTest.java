@@ -0,0 +1,85 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+
+import javax.sql.DataSource;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.github.isengrim613.junit5.TestUtilities.insertRow;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+
+@DbSetup
+class DbSetupTeardownTest {
+    @DbSetupSource
+    static DataSource dataSource = createDataSource("TeardownTable");
+
+    // inserting the same key again fails unless the teardown ran
+    @DbSetupOperation(order = 0)
+    static Operation insert = insertInto("My_Table")
+            .columns("primary_key", "my_value")
+            .values(1, "1")
+            .build();
+
+    @DbSetupTeardown
+    static Operation delete = deleteAllFrom("My_Table");
+
+    private static DataSource createDataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MYSQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql';");
+        return dataSource;
+    }
+
+    @RepeatedTest(3)
+    @DbSetupSkipNext
+    void shouldLaunchAfterTeardownEvenIfSkipped() throws Exception {
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"));
+    }
+
+    @RepeatedTest(3)
+    @DbSetupInvocations
+    void shouldTearDownOnceAfterReadOnlyInvocations(RepetitionInfo repetitionInfo) throws Exception {
+        // each invocation sees the row left by the previous one, which proves there was no teardown in between
+        if (repetitionInfo.getCurrentRepetition() == 1) {
+            assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"));
+            insertRow(dataSource, 2, "2");
+        }
+        else {
+            assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "1"), Pair.of(2, "2"));
+        }
+    }
+
+    @Nested
+    class InstanceField {
+        // a new data source for each test instance
+        @DbSetupSource(name = "instance")
+        DataSource instanceDataSource = createDataSource("TeardownInstanceTable");
+
+        @DbSetupOperation(sources = "instance", order = 1)
+        Operation insertInstance = insertInto("My_Table")
+                .columns("primary_key", "my_value")
+                .values(1, "1")
+                .build();
+
+        // slow, so that the next test launches before it ends unless it waits for it
+        @DbSetupTeardown(sources = "instance")
+        Operation slowDelete = (connection, configuration) -> {
+            try {
+                Thread.sleep(200);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            deleteAllFrom("My_Table").execute(connection, configuration);
+        };
+
+        @RepeatedTest(3)
+        void shouldWaitForTeardownOfPreviousInstance() throws Exception {
+            assertDataSourceOnlyHasRows(instanceDataSource, Pair.of(1, "1"));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+class DbSetupTeardownsTest {
+    private final DbSetupTeardowns teardowns = new DbSetupTeardowns();
+    private final DbSetupSourceKey key = DbSetupSourceKey.of(mock(DataSource.class));
+
+    @AfterEach
+    void close() throws Exception {
+        teardowns.close();
+    }
+
+    @Test
+    void shouldWaitForTeardownOfDataSource() throws Exception {
+        // arrange
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        teardowns.start(key, "DEFAULT", () -> {
+            started.countDown();
+            long end = System.nanoTime() + 50_000_000;
+            while (System.nanoTime() < end) {
+                // busy
+            }
+            done.set(true);
+        });
+        started.await();
+
+        // act
+        teardowns.await(DbSetupSourceKey.of(mock(DataSource.class)));
+        boolean doneForOtherDataSource = done.get();
+        teardowns.await(key);
+
+        // assert
+        assertThat(doneForOtherDataSource).isFalse();
+        assertThat(done).isTrue();
+    }
+
+    @Test
+    void shouldReportFailedTeardownOnce() throws Exception {
+        // arrange
+        RuntimeException failure = new RuntimeException("boom");
+        teardowns.start(key, "DEFAULT after test", () -> {
+            throw failure;
+        });
+
+        // act
+        Throwable t = catchThrowable(() -> teardowns.await(key));
+        Throwable again = catchThrowable(() -> teardowns.await(key));
+
+        // assert
+        assertThat(t).isInstanceOf(DbSetupRuntimeException.class)
+                .hasMessage("Teardown of DEFAULT after test failed")
+                .hasCause(failure);
+        assertThat(again).isNull();
+    }
+
+    @Test
+    void shouldRunTeardownsOfSameDataSourceInOrder() throws Exception {
+        // arrange
+        StringBuilder order = new StringBuilder();
+        teardowns.start(key, "first", () -> {
+            long end = System.nanoTime() + 20_000_000;
+            while (System.nanoTime() < end) {
+                // busy
+            }
+            order.append("first,");
+        });
+        teardowns.start(key, "second", () -> order.append("second"));
+
+        // act
+        teardowns.await(key);
+
+        // assert
+        assertThat(order.toString()).isEqualTo("first,second");
+    }
+
+    @Test
+    void shouldForgetSucceededTeardown() throws Exception {
+        // arrange
+        teardowns.start(key, "DEFAULT", () -> { });
+
+        // act
+        teardowns.join(key);
+
+        // assert
+        long end = System.nanoTime() + 10_000_000_000L;
+        while (teardowns.size() > 0 && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertThat(teardowns.size()).isZero();
+    }
+}
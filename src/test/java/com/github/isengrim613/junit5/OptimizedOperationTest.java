@@ -0,0 +1,125 @@
+package com.github.isengrim613.junit5;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.operation.Operation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.isengrim613.junit5.TestUtilities.assertDataSourceOnlyHasRows;
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.insertInto;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static com.ninja_squad.dbsetup.Operations.truncate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptimizedOperationTest {
+    @Test
+    void shouldFlattenSequencesAndPruneRepeatedDeletes() {
+        // arrange
+        Operation insert = insertInto("My_Table")
+                .columns("primary_key", "my_value")
+                .values(1, "2")
+                .build();
+
+        // act
+        List<Operation> plan = OptimizedOperation.plan(Arrays.asList(
+                sequenceOf(deleteAllFrom("My_Table", "Other_Table"), truncate("Third_Table")),
+                deleteAllFrom("Other_Table"),
+                truncate("Third_Table"),
+                insert,
+                deleteAllFrom("My_Table")));
+
+        // assert
+        assertThat(plan).containsExactly(
+                deleteAllFrom("My_Table"),
+                deleteAllFrom("Other_Table"),
+                truncate("Third_Table"),
+                insert,
+                deleteAllFrom("My_Table"));
+    }
+
+    @Test
+    void shouldBatchConsecutiveInsertsOfSameTableAndColumns() throws Exception {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:OptimizedOperationTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+
+        List<Operation> plan = OptimizedOperation.plan(Arrays.asList(
+                deleteAllFrom("My_Table"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(1, "2")
+                        .values(2, "3")
+                        .build(),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(3, "4")
+                        .build(),
+                sql("update My_Table set my_value = '5' where primary_key = 3"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(4, "6")
+                        .build()));
+        DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+        DbSetup dbSetup = new DbSetup(new CountingDestination(dataSource, statistics),
+                new OptimizedOperation(plan, null));
+
+        // act
+        dbSetup.launch();
+
+        // assert
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"), Pair.of(2, "3"), Pair.of(3, "5"), Pair.of(4, "6"));
+        assertThat(statistics.getStatementsPrepared()).isEqualTo(1);
+        assertThat(statistics.getBatches()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExecuteBatchOfEachTimedInsert() throws Exception {
+        // arrange
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:OptimizedOperationTimedTest;DB_CLOSE_DELAY=-1;MODE=MYSQL;INIT=RUNSCRIPT FROM 'classpath:h2-database-create.sql'");
+
+        List<Operation> plan = OptimizedOperation.plan(Arrays.asList(
+                deleteAllFrom("My_Table"),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(1, "2")
+                        .values(2, "3")
+                        .build(),
+                insertInto("My_Table")
+                        .columns("primary_key", "my_value")
+                        .values(3, "4")
+                        .build()));
+        long[] nanos = new long[plan.size()];
+        DbSetupJdbcStatistics statistics = new DbSetupJdbcStatistics();
+        DbSetup dbSetup = new DbSetup(new CountingDestination(dataSource, statistics),
+                new OptimizedOperation(plan, nanos));
+
+        // act
+        dbSetup.launch();
+
+        // assert
+        assertDataSourceOnlyHasRows(dataSource, Pair.of(1, "2"), Pair.of(2, "3"), Pair.of(3, "4"));
+        assertThat(statistics.getBatches()).isEqualTo(2);
+        assertThat(nanos).doesNotContain(0L);
+    }
+
+    @Test
+    void shouldBeEqualForSamePlan() {
+        // arrange
+        List<Operation> plan = OptimizedOperation.plan(Arrays.asList(deleteAllFrom("My_Table")));
+
+        // act
+        OptimizedOperation first = new OptimizedOperation(plan, null);
+        OptimizedOperation second = new OptimizedOperation(OptimizedOperation.plan(Arrays.asList(
+                sequenceOf(deleteAllFrom("My_Table")))), null);
+
+        // assert
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+}
@@ -0,0 +1,7 @@
+-- rows with separators in their values; the comment has one too
+delete from My_Table;
+insert into My_Table (primary_key, my_value) values (1, 'semi;colon');
+/* a block comment; with a semicolon */
+insert into My_Table (primary_key, "MY_VALUE") values (2, 'it''s -- not a comment');
+insert into My_Table (primary_key, my_value)
+    values (3, '/* not a comment */');